@@ -0,0 +1,103 @@
+package game.bench;
+
+import game.ai.Difficulty;
+import game.model.Choice;
+import game.model.GameLogic;
+import game.model.RuleSet;
+import game.util.Constants;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The per-round model calls: the computer's move at each difficulty, and
+ * deciding the winner of a round.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ModelBenchmark {
+    private static final long SEED = 42L;
+    private static final int PAIRINGS = 9;
+
+    /**
+     * A session with a history of rounds behind it, since the predicting
+     * strategies do more work once they have moves to learn from. The history
+     * stays fixed while measuring, so every call sees the same state.
+     */
+    @State(Scope.Thread)
+    public static class Opponent {
+        private static final int HISTORY_ROUNDS = 200;
+
+        @Param({"EASY", "MEDIUM", "HARD", "EXPERT", "MASTER", "ORACLE"})
+        public Difficulty difficulty;
+
+        GameLogic logic;
+
+        @Setup
+        public void setUp() {
+            logic = new GameLogic(Constants.MODE_PVC, difficulty.name(), RuleSet.CLASSIC, SEED);
+            // A player who mostly repeats a short pattern, which the stronger strategies pick up on
+            Random player = new Random(SEED);
+            Choice[] pattern = {Choice.ROCK, Choice.ROCK, Choice.PAPER, Choice.SCISSORS};
+            for (int round = 0; round < HISTORY_ROUNDS; round++) {
+                boolean random = player.nextInt(4) == 0;
+                logic.playRound(random ? Choice.values()[player.nextInt(3)] : pattern[round % pattern.length]);
+            }
+        }
+    }
+
+    /**
+     * Every pairing of moves, read from arrays so the JIT cannot fold the comparisons away.
+     */
+    @State(Scope.Thread)
+    public static class Rounds {
+        final GameLogic logic = new GameLogic(Constants.MODE_PVC, Constants.DIFFICULTY_EASY, RuleSet.CLASSIC, SEED);
+        final Choice[] players = new Choice[PAIRINGS];
+        final Choice[] computers = new Choice[PAIRINGS];
+
+        @Setup
+        public void setUp() {
+            Choice[] choices = Choice.values();
+            for (int i = 0; i < PAIRINGS; i++) {
+                players[i] = choices[i / choices.length];
+                computers[i] = choices[i % choices.length];
+            }
+        }
+    }
+
+    @Benchmark
+    public Choice getComputerChoice(Opponent opponent) {
+        return opponent.logic.getComputerChoice();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRINGS)
+    public void determineWinner(Rounds rounds, Blackhole blackhole) {
+        for (int i = 0; i < PAIRINGS; i++) {
+            blackhole.consume(rounds.logic.determineWinner(rounds.players[i], rounds.computers[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRINGS)
+    public void beats(Rounds rounds, Blackhole blackhole) {
+        for (int i = 0; i < PAIRINGS; i++) {
+            blackhole.consume(rounds.players[i].beats(rounds.computers[i]));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package game.bench;
+
+import game.ui.GameButton;
+import game.util.BackgroundManager;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import javax.swing.JPanel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Painting the background and a button into an offscreen {@link BufferedImage}, headless.
+ * {@code paintBackground} gives its panel the target image's graphics
+ * configuration, so it takes the path of every on-screen repaint: copying
+ * the cached layer. {@code paintBackgroundUncached} uses a panel with no
+ * configuration, as one off screen has, so the background is rendered from
+ * the decoded image on every call: the cost of a cache miss, such as the
+ * first paint after a resize. Buttons keep their state images, so
+ * {@code paintButton} is the steady-state cost and {@code paintButtonRelabelled}
+ * includes redrawing them, as after a size or label change.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmark {
+    @Param({"800x600", "1920x1080"})
+    public String size;
+
+    private BufferedImage target;
+    private Graphics2D graphics;
+    private JPanel panel;
+    private JPanel uncachedPanel;
+    private BenchButton button;
+    private boolean relabelled;
+
+    @Setup
+    public void setUp() {
+        String[] dimensions = size.split("x");
+        int width = Integer.parseInt(dimensions[0]);
+        int height = Integer.parseInt(dimensions[1]);
+        target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        graphics = target.createGraphics();
+
+        GraphicsConfiguration configuration = graphics.getDeviceConfiguration();
+        panel = new JPanel() {
+            @Override
+            public GraphicsConfiguration getGraphicsConfiguration() {
+                return configuration;
+            }
+        };
+        panel.setSize(width, height);
+        uncachedPanel = new JPanel();
+        uncachedPanel.setSize(width, height);
+        BackgroundManager.preload();
+
+        button = new BenchButton("Play");
+        // The menu's buttons take about a quarter of the window's width
+        Dimension buttonSize = new Dimension(width / 4, height / 12);
+        button.setSize(buttonSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage paintBackground() {
+        BackgroundManager.paintBackground(panel, graphics);
+        return target;
+    }
+
+    @Benchmark
+    public BufferedImage paintBackgroundUncached() {
+        BackgroundManager.paintBackground(uncachedPanel, graphics);
+        return target;
+    }
+
+    @Benchmark
+    public BufferedImage paintButton() {
+        button.paintBody(graphics);
+        return target;
+    }
+
+    @Benchmark
+    public BufferedImage paintButtonRelabelled() {
+        // Any label change throws away the button's state images
+        relabelled = !relabelled;
+        button.setText(relabelled ? "Play " : "Play");
+        button.paintBody(graphics);
+        return target;
+    }
+
+    /**
+     * Opens up {@code paintComponent}, which Swing would otherwise only call from {@code paint}.
+     */
+    private static final class BenchButton extends GameButton {
+        BenchButton(String text) {
+            super(text);
+        }
+
+        void paintBody(Graphics g) {
+            paintComponent(g);
+        }
+    }
+}
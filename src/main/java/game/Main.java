@@ -1,6 +1,22 @@
 package game;
 
+import game.model.Choice;
+import game.model.RuleSet;
+import game.sim.RandomBenchmark;
+import game.sim.Simulator;
+import game.sim.StrategyBenchmark;
+import game.sim.TournamentRunner;
 import game.ui.GameFrame;
+import game.ui.LoadingSplash;
+import game.ui.RenderHarness;
+import game.util.AssetLoader;
+import game.util.AudioHarness;
+import game.util.BackgroundManager;
+import game.util.Constants;
+import game.util.SoundManager;
+import game.util.SpriteCache;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
 import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
 
@@ -9,7 +25,36 @@ import javax.swing.UIManager;
  * Initializes the game window and sets up the look and feel.
  */
 public class Main {
-    public static void main(String[] args) {        try {
+    public static void main(String[] args) {
+        // Headless modes: run the AI simulator, benchmarks, tournament or harnesses instead of opening the window
+        if (args.length > 0 && args[0].equals("--simulate")) {
+            Simulator.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--benchmark")) {
+            StrategyBenchmark.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--tournament")) {
+            TournamentRunner.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--random-benchmark")) {
+            RandomBenchmark.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--audio-harness")) {
+            AudioHarness.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--render-harness")) {
+            // Render as on a CI box even on a desktop, so golden images match wherever they are checked
+            System.setProperty("java.awt.headless", "true");
+            RenderHarness.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
+        try {
             System.out.println("Starting Rock Paper Scissors game...");
             System.out.println("Working Directory: " + System.getProperty("user.dir"));
             
@@ -23,19 +68,49 @@ public class Main {
             
             // Launch the game on the Event Dispatch Thread
             System.out.println("Initializing game frame...");
-            SwingUtilities.invokeLater(() -> {
+            SwingUtilities.invokeLater(Main::launch);
+        } catch (Exception e) {
+            System.err.println("Error during game startup:");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Shows the splash straight away, decodes images and sounds in parallel in
+     * the background, then opens the game window once they are ready.
+     * Runs on the event dispatch thread.
+     */
+    private static void launch() {
+        long start = System.nanoTime();
+        LoadingSplash splash = new LoadingSplash();
+        splash.setVisible(true);
+
+        AssetLoader loader = new AssetLoader(splash::setProgress);
+        loader.submit(Constants.Assets.BACKGROUND_IMAGE, () -> {
+            BackgroundManager.preload();
+            return null;
+        });
+        for (Choice choice : Choice.values()) {
+            loader.submit(choice.getImagePath(), () -> SpriteCache.getDefault().get(
+                choice.getImagePath(), Constants.CHOICE_IMAGE_SIZE));
+        }
+        loader.submit("rule sets", RuleSet::getBuiltIns);
+        CompletableFuture<SoundManager> sounds = SoundManager.loadAsync(loader);
+
+        loader.whenAllDone().thenCombine(sounds, (ignored, soundManager) -> soundManager)
+            .whenComplete((soundManager, error) -> SwingUtilities.invokeLater(() -> {
                 try {
-                    GameFrame gameFrame = new GameFrame();
+                    System.out.printf("Assets loaded in %.0f ms%n", (System.nanoTime() - start) / 1e6);
+                    GameFrame gameFrame = error == null ? new GameFrame(soundManager) : new GameFrame();
                     gameFrame.setVisible(true);
-                    System.out.println("Game frame initialized successfully.");
+                    System.out.printf("Game frame initialized successfully after %.0f ms.%n",
+                                      (System.nanoTime() - start) / 1e6);
                 } catch (Exception e) {
                     System.err.println("Error initializing game frame:");
                     e.printStackTrace();
+                } finally {
+                    splash.dispose();
                 }
-            });
-        } catch (Exception e) {
-            System.err.println("Error during game startup:");
-            e.printStackTrace();
-        }
+            }));
     }
 }
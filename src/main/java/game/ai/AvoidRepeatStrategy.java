@@ -0,0 +1,35 @@
+package game.ai;
+
+import game.model.MoveHistory;
+import game.model.RuleSet;
+import java.util.random.RandomGenerator;
+
+/**
+ * Medium opponent: plays randomly but never the player's previous move.
+ */
+public class AvoidRepeatStrategy implements Strategy {
+    private final int moveCount;
+
+    public AvoidRepeatStrategy(RuleSet ruleSet) {
+        this.moveCount = ruleSet.getMoveCount();
+    }
+
+    @Override
+    public int decide(MoveHistory history, RandomGenerator random) {
+        if (history.isEmpty()) {
+            return random.nextInt(moveCount);
+        }
+        // Pick among the other moves without building a list of them
+        int lastMove = history.moveAt(0);
+        int pick = random.nextInt(moveCount - 1);
+        return pick >= lastMove ? pick + 1 : pick;
+    }
+
+    @Override
+    public void observe(MoveHistory history) {
+    }
+
+    @Override
+    public void reset() {
+    }
+}
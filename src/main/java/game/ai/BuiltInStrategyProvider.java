@@ -0,0 +1,29 @@
+package game.ai;
+
+import game.model.RuleSet;
+import game.util.Constants;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Provides the strategies that ship with the game, one per {@link Difficulty}.
+ */
+public class BuiltInStrategyProvider implements StrategyProvider {
+    @Override
+    public Set<Difficulty> getDifficulties() {
+        return EnumSet.allOf(Difficulty.class);
+    }
+
+    @Override
+    public Strategy create(Difficulty difficulty, RuleSet ruleSet) {
+        return switch (difficulty) {
+            case EASY -> new RandomStrategy(ruleSet);
+            case MEDIUM -> new AvoidRepeatStrategy(ruleSet);
+            case HARD -> new FrequencyStrategy(ruleSet);
+            case EXPERT -> new MarkovStrategy(ruleSet, Constants.MARKOV_ORDER, Constants.MARKOV_DECAY);
+            case MASTER -> new EnsembleStrategy(ruleSet, Constants.ENSEMBLE_SCORE_DECAY,
+                                                Constants.SUFFIX_INDEX_CAPACITY);
+            case ORACLE -> new PatternStrategy(ruleSet, Constants.SUFFIX_INDEX_CAPACITY);
+        };
+    }
+}
@@ -0,0 +1,40 @@
+package game.ai;
+
+/**
+ * Computer opponent levels. Each one is backed by a {@link Strategy} looked up in
+ * the {@link StrategyRegistry}; the enum names match the
+ * {@code Constants.DIFFICULTY_*} strings used by the menu.
+ */
+public enum Difficulty {
+    EASY("Easy"),
+    MEDIUM("Medium"),
+    HARD("Hard"),
+    EXPERT("Expert"),
+    MASTER("Master"),
+    ORACLE("Oracle");
+
+    private final String displayName;
+
+    Difficulty(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Resolves a difficulty string from the UI. Unknown values, such as the
+     * {@code "NONE"} passed in PVP mode, fall back to {@link #EASY}.
+     */
+    public static Difficulty fromString(String value) {
+        if (value != null) {
+            for (Difficulty difficulty : values()) {
+                if (difficulty.name().equalsIgnoreCase(value)) {
+                    return difficulty;
+                }
+            }
+        }
+        return EASY;
+    }
+}
@@ -0,0 +1,180 @@
+package game.ai;
+
+import game.model.MoveHistory;
+import game.model.Outcome;
+import game.model.RuleSet;
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Iocaine-style meta-strategy.
+ * Several base predictors guess the player's next move; each guess is expanded
+ * into three candidate plays: the direct counter, and the counters one and two
+ * levels deeper for players who anticipate being countered. Every candidate is
+ * scored on every round as if it had been played, with old results fading out,
+ * and the ensemble plays the current best candidate.
+ *
+ * All state, including the history matcher's index, lives in fixed-size
+ * primitive arrays sized at construction, so the per-round cost is bounded by
+ * the number of candidates and nothing is allocated after the constructor.
+ */
+public class EnsembleStrategy implements Strategy {
+    private static final int ROTATIONS = 3;
+
+    // Base predictors, in candidate order
+    private static final int FREQUENCY = 0;
+    private static final int RECENT_FREQUENCY = 1;
+    private static final int LAST_MOVE = 2;
+    private static final int MARKOV_SHORT = 3;
+    private static final int MARKOV_LONG = 4;
+    private static final int HISTORY_MATCH = 5;
+    private static final int PREDICTORS = 6;
+
+    private static final double RECENT_FREQUENCY_DECAY = 0.9;
+
+    private final RuleSet ruleSet;
+    private final int moves;
+    private final double scoreDecay;
+    private final MarkovPredictor markovShort;
+    private final MarkovPredictor markovLong;
+    private final SuffixMatcher historyMatcher;
+    private final int[] frequency;
+    private final double[] recentFrequency;
+    private final int[] plays = new int[PREDICTORS * ROTATIONS];
+    private final double[] scores = new double[PREDICTORS * ROTATIONS];
+
+    /**
+     * @param ruleSet The rules the session is played under
+     * @param scoreDecay Weight kept by past candidate results each round, in (0, 1]
+     * @param historyMatchMoves Most moves indexed by the history-match predictor
+     */
+    public EnsembleStrategy(RuleSet ruleSet, double scoreDecay, int historyMatchMoves) {
+        if (!(scoreDecay > 0.0 && scoreDecay <= 1.0)) {
+            throw new IllegalArgumentException("scoreDecay must be in (0, 1]: " + scoreDecay);
+        }
+        this.ruleSet = ruleSet;
+        this.moves = ruleSet.getMoveCount();
+        this.scoreDecay = scoreDecay;
+        this.frequency = new int[moves];
+        this.recentFrequency = new double[moves];
+        this.markovShort = new MarkovPredictor(1, 0.95, moves);
+        this.markovLong = new MarkovPredictor(3, 0.99, moves);
+        this.historyMatcher = new SuffixMatcher(historyMatchMoves, moves);
+        reset();
+    }
+
+    /**
+     * Scores the candidates against the move just added to {@code history},
+     * updates the base predictors and prepares the candidates for the next round.
+     */
+    @Override
+    public void observe(MoveHistory history) {
+        int actual = history.moveAt(0);
+
+        // Score what every candidate would have achieved this round
+        for (int i = 0; i < plays.length; i++) {
+            scores[i] *= scoreDecay;
+            if (plays[i] >= 0) {
+                scores[i] += payoff(plays[i], actual);
+            }
+        }
+
+        frequency[actual]++;
+        for (int m = 0; m < moves; m++) {
+            recentFrequency[m] *= RECENT_FREQUENCY_DECAY;
+        }
+        recentFrequency[actual] += 1.0;
+        markovShort.observe(history);
+        markovLong.observe(history);
+        historyMatcher.append(actual);
+
+        preparePlays(history);
+    }
+
+    /**
+     * Plays the best-scoring candidate, or a random move until any candidate has an opinion.
+     */
+    @Override
+    public int decide(MoveHistory history, RandomGenerator random) {
+        int best = -1;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < plays.length; i++) {
+            if (plays[i] >= 0 && scores[i] > bestScore) {
+                bestScore = scores[i];
+                best = i;
+            }
+        }
+        return best < 0 ? random.nextInt(moves) : plays[best];
+    }
+
+    /**
+     * @return Number of candidate plays scored each round
+     */
+    public int getCandidateCount() {
+        return plays.length;
+    }
+
+    @Override
+    public void reset() {
+        Arrays.fill(frequency, 0);
+        Arrays.fill(recentFrequency, 0.0);
+        Arrays.fill(plays, -1);
+        Arrays.fill(scores, 0.0);
+        markovShort.reset();
+        markovLong.reset();
+        historyMatcher.reset();
+    }
+
+    private void preparePlays(MoveHistory history) {
+        setPredictor(FREQUENCY, argMax(frequency));
+        setPredictor(RECENT_FREQUENCY, argMax(recentFrequency));
+        setPredictor(LAST_MOVE, history.moveAt(0));
+        setPredictor(MARKOV_SHORT, markovShort.predict(history));
+        setPredictor(MARKOV_LONG, markovLong.predict(history));
+        setPredictor(HISTORY_MATCH, historyMatcher.predict());
+    }
+
+    private void setPredictor(int predictor, int predictedMove) {
+        int base = predictor * ROTATIONS;
+        if (predictedMove < 0) {
+            for (int r = 0; r < ROTATIONS; r++) {
+                plays[base + r] = -1;
+            }
+            return;
+        }
+        int play = predictedMove;
+        for (int r = 0; r < ROTATIONS; r++) {
+            play = ruleSet.counter(play);
+            plays[base + r] = play;
+        }
+    }
+
+    private int payoff(int play, int opponent) {
+        Outcome outcome = ruleSet.outcome(play, opponent);
+        return outcome == Outcome.WIN ? 1 : outcome == Outcome.LOSE ? -1 : 0;
+    }
+
+    private static int argMax(int[] values) {
+        int best = -1;
+        int bestValue = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] > bestValue) {
+                bestValue = values[i];
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private static int argMax(double[] values) {
+        int best = -1;
+        double bestValue = 0.0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] > bestValue) {
+                bestValue = values[i];
+                best = i;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,45 @@
+package game.ai;
+
+import game.model.MoveHistory;
+import game.model.RuleSet;
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Hard opponent: counters the player's most frequent move so far.
+ */
+public class FrequencyStrategy implements Strategy {
+    private final RuleSet ruleSet;
+    private final int[] moveFrequency;
+
+    public FrequencyStrategy(RuleSet ruleSet) {
+        this.ruleSet = ruleSet;
+        this.moveFrequency = new int[ruleSet.getMoveCount()];
+    }
+
+    @Override
+    public int decide(MoveHistory history, RandomGenerator random) {
+        int mostFrequent = 0;
+        int maxFrequency = -1;
+
+        for (int i = 0; i < moveFrequency.length; i++) {
+            if (moveFrequency[i] > maxFrequency) {
+                maxFrequency = moveFrequency[i];
+                mostFrequent = i;
+            }
+        }
+
+        // Return the move that beats the player's most frequent move
+        return ruleSet.counter(mostFrequent);
+    }
+
+    @Override
+    public void observe(MoveHistory history) {
+        moveFrequency[history.moveAt(0)]++;
+    }
+
+    @Override
+    public void reset() {
+        Arrays.fill(moveFrequency, 0);
+    }
+}
@@ -0,0 +1,147 @@
+package game.ai;
+
+import game.model.MoveHistory;
+import java.util.Arrays;
+
+/**
+ * Order-k Markov (n-gram) model of the player's moves.
+ * Keeps one transition table per context length 1..k, each a flat
+ * {@code double[]} indexed by the base-n encoded context and the following move,
+ * where n is the rule set's move count. For large rule sets the order is reduced
+ * so that no table exceeds {@link #MAX_TABLE_CELLS} cells.
+ * Updating and predicting touch at most k rows, so both are O(k) per round
+ * regardless of session length, and neither allocates.
+ *
+ * With a decay below 1.0, older observations lose weight geometrically so the
+ * model follows a player who changes pattern. Decay is applied lazily by growing
+ * the increment instead of scaling every cell each round.
+ */
+public class MarkovPredictor {
+    public static final int MAX_ORDER = 8;
+    public static final int MAX_TABLE_CELLS = 1 << 18;
+
+    // Rescale the tables before the increment can overflow double precision
+    private static final double RESCALE_THRESHOLD = 1e100;
+
+    private final int moves;
+    private final int order;
+    private final double decay;
+    private final double[][] tables;
+    private double increment = 1.0;
+
+    /**
+     * @param order Longest context to model, between 1 and {@link #MAX_ORDER}
+     * @param decay Per-round weight retained by past observations, in (0, 1]; 1.0 disables decay
+     * @param moves Number of distinct moves in the rule set
+     */
+    public MarkovPredictor(int order, double decay, int moves) {
+        if (order < 1 || order > MAX_ORDER) {
+            throw new IllegalArgumentException("order must be between 1 and " + MAX_ORDER + ": " + order);
+        }
+        if (!(decay > 0.0 && decay <= 1.0)) {
+            throw new IllegalArgumentException("decay must be in (0, 1]: " + decay);
+        }
+        this.moves = moves;
+        this.order = cappedOrder(order, moves);
+        this.decay = decay;
+        this.tables = new double[this.order][];
+        int contexts = 1;
+        for (int o = 0; o < this.order; o++) {
+            contexts *= moves;
+            tables[o] = new double[contexts * moves];
+        }
+    }
+
+    /**
+     * Records the most recent move in {@code history} against every context
+     * length that precedes it. Call once per round, after the move was added.
+     */
+    public void observe(MoveHistory history) {
+        int size = history.size();
+        if (size < 2) {
+            return;
+        }
+        int next = history.moveAt(0);
+        int context = 0;
+        for (int o = 1; o <= order && o < size; o++) {
+            // Extend the context by one older move; the most recent move is the leading digit
+            context = context * moves + history.moveAt(o);
+            tables[o - 1][context * moves + next] += increment;
+        }
+
+        if (decay < 1.0) {
+            increment /= decay;
+            if (increment > RESCALE_THRESHOLD) {
+                rescale();
+            }
+        }
+    }
+
+    /**
+     * Predicts the player's next move from the longest context seen before.
+     *
+     * @return The index of the most likely next move, or -1 if there is no data yet
+     */
+    public int predict(MoveHistory history) {
+        int size = history.size();
+        int longest = Math.min(order, size);
+        for (int o = longest; o >= 1; o--) {
+            int context = 0;
+            for (int i = 0; i < o; i++) {
+                context = context * moves + history.moveAt(i);
+            }
+            int base = context * moves;
+            double[] table = tables[o - 1];
+            int best = -1;
+            double bestWeight = 0.0;
+            for (int m = 0; m < moves; m++) {
+                if (table[base + m] > bestWeight) {
+                    bestWeight = table[base + m];
+                    best = m;
+                }
+            }
+            if (best >= 0) {
+                return best;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return The longest context actually modelled, after capping for the table size
+     */
+    public int getOrder() {
+        return order;
+    }
+
+    public double getDecay() {
+        return decay;
+    }
+
+    public void reset() {
+        for (double[] table : tables) {
+            Arrays.fill(table, 0.0);
+        }
+        increment = 1.0;
+    }
+
+    private static int cappedOrder(int order, int moves) {
+        int capped = 0;
+        long cells = moves;
+        while (capped < order && cells * moves <= MAX_TABLE_CELLS) {
+            cells *= moves;
+            capped++;
+        }
+        return Math.max(1, capped);
+    }
+
+    private void rescale() {
+        double factor = 1.0 / increment;
+        for (double[] table : tables) {
+            for (int i = 0; i < table.length; i++) {
+                table[i] *= factor;
+            }
+        }
+        increment = 1.0;
+    }
+}
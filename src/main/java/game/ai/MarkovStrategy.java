@@ -0,0 +1,38 @@
+package game.ai;
+
+import game.model.MoveHistory;
+import game.model.RuleSet;
+import java.util.random.RandomGenerator;
+
+/**
+ * Expert opponent: counters the move a {@link MarkovPredictor} expects after the
+ * player's recent moves.
+ */
+public class MarkovStrategy implements Strategy {
+    private final RuleSet ruleSet;
+    private final MarkovPredictor predictor;
+
+    public MarkovStrategy(RuleSet ruleSet, int order, double decay) {
+        this.ruleSet = ruleSet;
+        this.predictor = new MarkovPredictor(order, decay, ruleSet.getMoveCount());
+    }
+
+    @Override
+    public int decide(MoveHistory history, RandomGenerator random) {
+        int predicted = predictor.predict(history);
+        if (predicted >= 0) {
+            return ruleSet.counter(predicted);
+        }
+        return random.nextInt(ruleSet.getMoveCount());
+    }
+
+    @Override
+    public void observe(MoveHistory history) {
+        predictor.observe(history);
+    }
+
+    @Override
+    public void reset() {
+        predictor.reset();
+    }
+}
@@ -0,0 +1,38 @@
+package game.ai;
+
+import game.model.MoveHistory;
+import game.model.RuleSet;
+import java.util.random.RandomGenerator;
+
+/**
+ * Oracle opponent: counters whatever followed the longest earlier repeat of the
+ * player's latest moves, as found by a {@link SuffixMatcher}.
+ */
+public class PatternStrategy implements Strategy {
+    private final RuleSet ruleSet;
+    private final SuffixMatcher matcher;
+
+    public PatternStrategy(RuleSet ruleSet, int maxMoves) {
+        this.ruleSet = ruleSet;
+        this.matcher = new SuffixMatcher(maxMoves, ruleSet.getMoveCount());
+    }
+
+    @Override
+    public int decide(MoveHistory history, RandomGenerator random) {
+        int following = matcher.predict();
+        if (following >= 0) {
+            return ruleSet.counter(following);
+        }
+        return random.nextInt(ruleSet.getMoveCount());
+    }
+
+    @Override
+    public void observe(MoveHistory history) {
+        matcher.append(history.moveAt(0));
+    }
+
+    @Override
+    public void reset() {
+        matcher.reset();
+    }
+}
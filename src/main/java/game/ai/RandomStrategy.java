@@ -0,0 +1,29 @@
+package game.ai;
+
+import game.model.MoveHistory;
+import game.model.RuleSet;
+import java.util.random.RandomGenerator;
+
+/**
+ * Easy opponent: plays uniformly at random and learns nothing.
+ */
+public class RandomStrategy implements Strategy {
+    private final int moveCount;
+
+    public RandomStrategy(RuleSet ruleSet) {
+        this.moveCount = ruleSet.getMoveCount();
+    }
+
+    @Override
+    public int decide(MoveHistory history, RandomGenerator random) {
+        return random.nextInt(moveCount);
+    }
+
+    @Override
+    public void observe(MoveHistory history) {
+    }
+
+    @Override
+    public void reset() {
+    }
+}
@@ -0,0 +1,32 @@
+package game.ai;
+
+import game.model.MoveHistory;
+import java.util.random.RandomGenerator;
+
+/**
+ * A computer opponent. {@code GameLogic} calls {@link #decide} before every round
+ * and {@link #observe} after the player's move has been added to the history.
+ * Moves are indices into the {@link game.model.RuleSet} the strategy was created
+ * for. Implementations are stateful and belong to a single game session; they
+ * should avoid allocating in either hook so they can be driven by the bulk simulator.
+ */
+public interface Strategy {
+    /**
+     * Picks the computer's move for the coming round.
+     *
+     * @param history The player's moves so far, most recent at age 0
+     * @param random The session's random source
+     * @return The index of the move to play
+     */
+    int decide(MoveHistory history, RandomGenerator random);
+
+    /**
+     * Learns from the player's latest move, which is at age 0 of {@code history}.
+     */
+    void observe(MoveHistory history);
+
+    /**
+     * Forgets everything learned so far.
+     */
+    void reset();
+}
@@ -0,0 +1,25 @@
+package game.ai;
+
+import game.model.RuleSet;
+import java.util.Set;
+
+/**
+ * Service provider interface for computer opponents.
+ * Implementations are discovered with {@link java.util.ServiceLoader} from
+ * {@code META-INF/services/game.ai.StrategyProvider}; a provider listed later on
+ * the class path replaces an earlier one for the same difficulty.
+ */
+public interface StrategyProvider {
+    /**
+     * @return The difficulties this provider can create strategies for
+     */
+    Set<Difficulty> getDifficulties();
+
+    /**
+     * Creates a fresh strategy for one game session.
+     *
+     * @param difficulty One of {@link #getDifficulties()}
+     * @param ruleSet The rules the session is played under
+     */
+    Strategy create(Difficulty difficulty, RuleSet ruleSet);
+}
@@ -0,0 +1,67 @@
+package game.ai;
+
+import game.model.RuleSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+/**
+ * Maps each {@link Difficulty} to the provider that builds its strategy.
+ * Providers are loaded once, on first use, through {@link ServiceLoader}.
+ */
+public final class StrategyRegistry {
+    private static final Map<Difficulty, StrategyProvider> PROVIDERS = loadProviders();
+
+    private StrategyRegistry() {
+        throw new AssertionError("StrategyRegistry cannot be instantiated");
+    }
+
+    /**
+     * Creates a fresh strategy for {@code difficulty} playing the classic rules.
+     *
+     * @throws IllegalStateException if no provider registered the difficulty
+     */
+    public static Strategy create(Difficulty difficulty) {
+        return create(difficulty, RuleSet.CLASSIC);
+    }
+
+    /**
+     * Creates a fresh strategy for {@code difficulty} playing {@code ruleSet}.
+     *
+     * @throws IllegalStateException if no provider registered the difficulty
+     */
+    public static Strategy create(Difficulty difficulty, RuleSet ruleSet) {
+        StrategyProvider provider = PROVIDERS.get(difficulty);
+        if (provider == null) {
+            throw new IllegalStateException("No strategy registered for difficulty " + difficulty);
+        }
+        return provider.create(difficulty, ruleSet);
+    }
+
+    /**
+     * @return The difficulties that have a registered strategy, in declaration order
+     */
+    public static Set<Difficulty> getRegisteredDifficulties() {
+        return Collections.unmodifiableSet(PROVIDERS.keySet());
+    }
+
+    private static Map<Difficulty, StrategyProvider> loadProviders() {
+        Map<Difficulty, StrategyProvider> providers = new EnumMap<>(Difficulty.class);
+        for (StrategyProvider provider : ServiceLoader.load(StrategyProvider.class)) {
+            for (Difficulty difficulty : provider.getDifficulties()) {
+                providers.put(difficulty, provider);
+            }
+        }
+        if (providers.isEmpty()) {
+            // Service files can be lost when the classes are repackaged; never leave the game without an AI
+            System.err.println("No strategy providers found on the class path, using built-in strategies");
+            StrategyProvider builtIn = new BuiltInStrategyProvider();
+            for (Difficulty difficulty : builtIn.getDifficulties()) {
+                providers.put(difficulty, builtIn);
+            }
+        }
+        return providers;
+    }
+}
@@ -0,0 +1,170 @@
+package game.ai;
+
+import java.util.Arrays;
+
+/**
+ * Online suffix automaton over the player's move sequence.
+ * After each appended move it knows the longest suffix of the sequence that also
+ * ended somewhere earlier, and predicts that the player will repeat whatever
+ * followed that earlier occurrence. Appending is amortised O(1) and predicting
+ * is O(1), so decision latency stays flat however long the session runs.
+ *
+ * To keep memory bounded the automaton indexes at most {@code maxMoves} moves,
+ * fewer for large rule sets so the dense transition table stays within
+ * {@link #MAX_TRANSITIONS} entries; when full it is rebuilt from the most recent
+ * half, which keeps the amortised cost per move constant. The arrays are sized
+ * for {@code maxMoves} in the constructor, so appending never allocates.
+ */
+public class SuffixMatcher {
+    public static final int MAX_TRANSITIONS = 1 << 20;
+
+    private final int moves;
+    private final int maxMoves;
+    private final byte[] sequence;
+    private int length;
+
+    // Automaton states, struct-of-arrays; state 0 is the root
+    private final int[] transitions;
+    private final int[] stateLength;
+    private final int[] suffixLink;
+    private final int[] endPosition;
+    private int stateCount;
+    private int last;
+
+    // Result of the most recent append
+    private int matchLength;
+    private int predicted = -1;
+
+    /**
+     * @param maxMoves Most moves indexed at once; older moves are dropped beyond this
+     * @param moves Number of distinct moves in the rule set, at most 128
+     */
+    public SuffixMatcher(int maxMoves, int moves) {
+        if (maxMoves < 2) {
+            throw new IllegalArgumentException("maxMoves must be at least 2: " + maxMoves);
+        }
+        if (moves < 2 || moves > Byte.MAX_VALUE + 1) {
+            throw new IllegalArgumentException("moves must be between 2 and 128: " + moves);
+        }
+        this.moves = moves;
+        this.maxMoves = Math.max(2, Math.min(maxMoves, MAX_TRANSITIONS / (2 * moves)));
+        // A suffix automaton over n symbols never needs more than 2n states
+        int states = 2 * this.maxMoves;
+        this.sequence = new byte[this.maxMoves];
+        this.transitions = new int[states * moves];
+        this.stateLength = new int[states];
+        this.suffixLink = new int[states];
+        this.endPosition = new int[states];
+        reset();
+    }
+
+    /**
+     * Extends the index with the player's latest move and refreshes the prediction.
+     *
+     * @param move The index of the move just played
+     */
+    public void append(int move) {
+        if (length == maxMoves) {
+            rebuildFromRecentHalf();
+        }
+        sequence[length] = (byte) move;
+        extend(move, length);
+        length++;
+        updatePrediction();
+    }
+
+    /**
+     * @return The index of the move that followed the longest earlier match, or -1 if none
+     */
+    public int predict() {
+        return predicted;
+    }
+
+    /**
+     * @return Length of the suffix matched by the current prediction
+     */
+    public int getMatchLength() {
+        return matchLength;
+    }
+
+    /**
+     * @return Number of moves currently indexed
+     */
+    public int size() {
+        return length;
+    }
+
+    public void reset() {
+        length = 0;
+        stateCount = 1;
+        last = 0;
+        Arrays.fill(transitions, 0, moves, -1);
+        stateLength[0] = 0;
+        suffixLink[0] = -1;
+        endPosition[0] = -1;
+        matchLength = 0;
+        predicted = -1;
+    }
+
+    private void extend(int move, int position) {
+        int current = newState(stateLength[last] + 1, position);
+        int p = last;
+        while (p != -1 && transitions[p * moves + move] == -1) {
+            transitions[p * moves + move] = current;
+            p = suffixLink[p];
+        }
+        if (p == -1) {
+            suffixLink[current] = 0;
+        } else {
+            int q = transitions[p * moves + move];
+            if (stateLength[p] + 1 == stateLength[q]) {
+                suffixLink[current] = q;
+            } else {
+                int clone = newState(stateLength[p] + 1, endPosition[q]);
+                System.arraycopy(transitions, q * moves, transitions, clone * moves, moves);
+                suffixLink[clone] = suffixLink[q];
+                while (p != -1 && transitions[p * moves + move] == q) {
+                    transitions[p * moves + move] = clone;
+                    p = suffixLink[p];
+                }
+                suffixLink[q] = clone;
+                suffixLink[current] = clone;
+            }
+        }
+        last = current;
+    }
+
+    private void updatePrediction() {
+        // The suffix link of the newest state is the longest suffix that also ends earlier
+        int state = suffixLink[last];
+        int end = state > 0 ? endPosition[state] : -1;
+        if (end < 0 || end + 1 >= length) {
+            matchLength = 0;
+            predicted = -1;
+            return;
+        }
+        matchLength = stateLength[state];
+        predicted = sequence[end + 1];
+        // Remember this occurrence so the next query for the state prefers the newest one
+        endPosition[state] = length - 1;
+    }
+
+    private int newState(int len, int end) {
+        int state = stateCount++;
+        Arrays.fill(transitions, state * moves, state * moves + moves, -1);
+        stateLength[state] = len;
+        suffixLink[state] = -1;
+        endPosition[state] = end;
+        return state;
+    }
+
+    private void rebuildFromRecentHalf() {
+        int keep = maxMoves / 2;
+        System.arraycopy(sequence, length - keep, sequence, 0, keep);
+        reset();
+        for (int i = 0; i < keep; i++) {
+            extend(sequence[i], i);
+            length++;
+        }
+    }
+}
@@ -31,8 +31,6 @@ public enum Choice {
      * @return true if this choice beats the other choice
      */
     public boolean beats(Choice other) {
-        return (this == ROCK && other == SCISSORS) ||
-               (this == SCISSORS && other == PAPER) ||
-               (this == PAPER && other == ROCK);
+        return Outcome.of(this, other) == Outcome.WIN;
     }
 }
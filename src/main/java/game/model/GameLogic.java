@@ -1,76 +1,99 @@
 package game.model;
 
+import game.ai.Difficulty;
+import game.ai.Strategy;
+import game.ai.StrategyRegistry;
 import game.util.Constants;
-import java.util.ArrayList;
-import java.util.EnumMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Random;
+import java.util.OptionalLong;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
 
 /**
- * Handles the core game logic and AI decision making.
+ * Handles the core game logic and delegates AI decision making to a {@link Strategy}.
+ * Moves are indices into the session's {@link RuleSet}; the {@link Choice}
+ * overloads are shorthands for the classic rules.
+ *
+ * The computer's randomness comes from a {@link RandomGenerator}. By default a
+ * {@code Constants.RANDOM_ALGORITHM} generator is created from a fresh seed,
+ * which {@link #getSeed()} reports so the session can be replayed; callers can
+ * also pass a seed, or a generator of their own such as a split of a parallel
+ * simulation's stream.
  */
 public class GameLogic {
+    private static final Choice[] CHOICES = Choice.values();
+
     private final String gameMode;
     private final String difficulty;
-    private final Random random;
+    private final RuleSet ruleSet;
+    private final RandomGenerator random;
+    private final OptionalLong seed;
     private final int[] scores;
-    private final List<Choice> previousMoves;
-    private final Map<Choice, Integer> moveFrequency;
+    private final MoveHistory previousMoves;
+    private final Strategy strategy; // null in PVP mode
+    private int lastComputerMove = -1;
     
     public GameLogic() {
         this(Constants.MODE_PVC, Constants.DIFFICULTY_MEDIUM);
     }
     
     public GameLogic(String gameMode, String difficulty) {
+        this(gameMode, difficulty, RuleSet.CLASSIC);
+    }
+    
+    public GameLogic(String gameMode, String difficulty, RuleSet ruleSet) {
+        this(gameMode, difficulty, ruleSet, ThreadLocalRandom.current().nextLong());
+    }
+    
+    /**
+     * Creates a session whose computer moves are reproducible for a given seed.
+     */
+    public GameLogic(String gameMode, String difficulty, RuleSet ruleSet, long seed) {
+        this(gameMode, difficulty, ruleSet, createGenerator(seed), OptionalLong.of(seed));
+    }
+    
+    /**
+     * Creates a session that draws its randomness from {@code random}, which it
+     * then owns; the generator must not be shared with another thread.
+     */
+    public GameLogic(String gameMode, String difficulty, RuleSet ruleSet, RandomGenerator random) {
+        this(gameMode, difficulty, ruleSet, random, OptionalLong.empty());
+    }
+    
+    private GameLogic(String gameMode, String difficulty, RuleSet ruleSet,
+                      RandomGenerator random, OptionalLong seed) {
         this.gameMode = gameMode;
         this.difficulty = difficulty;
-        this.random = new Random();
+        this.ruleSet = ruleSet;
+        this.random = random;
+        this.seed = seed;
         this.scores = new int[2];
-        this.previousMoves = new ArrayList<>();
-        this.moveFrequency = new EnumMap<>(Choice.class);
-        for (Choice choice : Choice.values()) {
-            moveFrequency.put(choice, 0);
+        this.previousMoves = new MoveHistory(Constants.MOVE_HISTORY_CAPACITY, ruleSet.getMoveCount());
+        // Resolve mode and difficulty once here rather than comparing strings every round
+        this.strategy = Constants.MODE_PVP.equals(gameMode)
+            ? null
+            : StrategyRegistry.create(Difficulty.fromString(difficulty), ruleSet);
+    }
+    
+    /**
+     * @return The index of the computer's next move, or -1 in PVP mode
+     */
+    public int getComputerMove() {
+        if (strategy == null) {
+            return -1; // Not used in PVP mode
         }
+        return strategy.decide(previousMoves, random);
     }
     
+    /**
+     * Classic-rules form of {@link #getComputerMove()}.
+     *
+     * @return The computer's next move, or null in PVP mode
+     */
     public Choice getComputerChoice() {
-        if (gameMode.equals("PVP")) {
-            return null; // Not used in PVP mode
-        }
-
-        Choice[] choices = Choice.values();
-        
-        switch (difficulty.toUpperCase()) {
-            case Constants.DIFFICULTY_EASY:
-                return choices[random.nextInt(choices.length)];
-                
-            case Constants.DIFFICULTY_MEDIUM:
-                // Try not to repeat previous moves
-                if (!previousMoves.isEmpty()) {
-                    Choice lastMove = previousMoves.get(previousMoves.size() - 1);
-                    List<Choice> availableChoices = new ArrayList<>();
-                    for (Choice choice : choices) {
-                        if (choice != lastMove) {
-                            availableChoices.add(choice);
-                        }
-                    }
-                    return availableChoices.get(random.nextInt(availableChoices.size()));
-                }
-                return choices[random.nextInt(choices.length)];
-                
-            case Constants.DIFFICULTY_HARD:
-                // Use move frequency to make smarter choices
-                Choice mostFrequentChoice = getMostFrequentChoice();
-                if (mostFrequentChoice != null) {
-                    // Return the choice that beats the player's most frequent choice
-                    return getWinningChoice(mostFrequentChoice);
-                }
-                return choices[random.nextInt(choices.length)];
-                
-            default:
-                return choices[random.nextInt(choices.length)];
-        }
+        requireClassic();
+        int move = getComputerMove();
+        return move < 0 ? null : CHOICES[move];
     }
     
     public String getGameMode() {
@@ -81,51 +104,97 @@ public class GameLogic {
         return difficulty;
     }
     
-    // Determine winner and update scores
-    public String determineWinner(Choice playerChoice, Choice computerChoice) {
-        if (playerChoice == computerChoice) {
-            return "Draw!";
+    public RuleSet getRuleSet() {
+        return ruleSet;
+    }
+    
+    /**
+     * @return The seed the session's generator was created from, or empty if a generator was passed in
+     */
+    public OptionalLong getSeed() {
+        return seed;
+    }
+    
+    /**
+     * Creates a generator of the configured algorithm, {@code Constants.RANDOM_ALGORITHM}.
+     */
+    public static RandomGenerator createGenerator(long seed) {
+        return RandomGeneratorFactory.of(Constants.RANDOM_ALGORITHM).create(seed);
+    }
+    
+    /**
+     * Records a round and updates the scores.
+     *
+     * @param playerMove The player's (or player 1's) move index
+     * @param computerMove The computer's (or player 2's) move index
+     * @return The outcome for the player
+     * @throws IllegalArgumentException if either move is not in the rule set; nothing is recorded then
+     */
+    public Outcome determineWinner(int playerMove, int computerMove) {
+        requireMove(playerMove);
+        requireMove(computerMove);
+
+        // Let the AI learn from every move (draws included, so the history has no gaps)
+        previousMoves.add(playerMove);
+        if (strategy != null) {
+            strategy.observe(previousMoves);
         }
-        
-        boolean playerWins = (playerChoice == Choice.ROCK && computerChoice == Choice.SCISSORS) ||
-                           (playerChoice == Choice.PAPER && computerChoice == Choice.ROCK) ||
-                           (playerChoice == Choice.SCISSORS && computerChoice == Choice.PAPER);
-        
-        // Update move frequency for AI
-        moveFrequency.put(playerChoice, moveFrequency.get(playerChoice) + 1);
-        previousMoves.add(playerChoice);
-        
-        if (playerWins) {
+
+        Outcome outcome = ruleSet.outcome(playerMove, computerMove);
+        if (outcome == Outcome.WIN) {
             scores[0]++; // Player score
-            return "You Win!";
-        } else {
+        } else if (outcome == Outcome.LOSE) {
             scores[1]++; // Computer score
-            return "You Lose!";
         }
+        return outcome;
     }
     
-    private Choice getMostFrequentChoice() {
-        if (moveFrequency.isEmpty()) return null;
-        
-        Choice mostFrequent = null;
-        int maxFrequency = -1;
-        
-        for (Map.Entry<Choice, Integer> entry : moveFrequency.entrySet()) {
-            if (entry.getValue() > maxFrequency) {
-                maxFrequency = entry.getValue();
-                mostFrequent = entry.getKey();
-            }
-        }
-        
-        return mostFrequent;
+    /**
+     * Classic-rules form of {@link #determineWinner(int, int)}.
+     */
+    public Outcome determineWinner(Choice playerChoice, Choice computerChoice) {
+        requireClassic();
+        return determineWinner(playerChoice.ordinal(), computerChoice.ordinal());
+    }
+    
+    /**
+     * Plays a complete player-vs-computer round without allocating: picks the
+     * computer's move, records the round and returns the player's outcome.
+     * The computer's move is available from {@link #getLastComputerMove()}.
+     */
+    public Outcome playRound(int playerMove) {
+        lastComputerMove = getComputerMove();
+        return determineWinner(playerMove, lastComputerMove);
+    }
+    
+    /**
+     * Classic-rules form of {@link #playRound(int)}.
+     */
+    public Outcome playRound(Choice playerChoice) {
+        requireClassic();
+        return playRound(playerChoice.ordinal());
+    }
+    
+    /**
+     * @return The computer's move index in the last {@link #playRound} call, or -1 before the first
+     */
+    public int getLastComputerMove() {
+        return lastComputerMove;
     }
     
-    private Choice getWinningChoice(Choice choice) {
-        return switch (choice) {
-            case ROCK -> Choice.PAPER;
-            case PAPER -> Choice.SCISSORS;
-            case SCISSORS -> Choice.ROCK;
-        };
+    /**
+     * @return The computer's move in the last {@link #playRound} call, or null before the first
+     */
+    public Choice getLastComputerChoice() {
+        requireClassic();
+        return lastComputerMove < 0 ? null : CHOICES[lastComputerMove];
+    }
+    
+    /**
+     * @return The bounded history of the player's recent moves
+     */
+    public MoveHistory getMoveHistory() {
+        return previousMoves;
     }
     
     public int[] getScores() {
@@ -136,5 +205,22 @@ public class GameLogic {
         scores[0] = 0;
         scores[1] = 0;
         previousMoves.clear();
+        lastComputerMove = -1;
+        if (strategy != null) {
+            strategy.reset();
+        }
+    }
+    
+    private void requireClassic() {
+        if (!ruleSet.isClassic()) {
+            throw new IllegalStateException("Choice moves only apply to the classic rules, not " + ruleSet);
+        }
+    }
+
+    // RuleSet looks moves up in flat tables, so an out-of-range index would read another pairing
+    private void requireMove(int move) {
+        if (move < 0 || move >= ruleSet.getMoveCount()) {
+            throw new IllegalArgumentException("No move " + move + " in " + ruleSet);
+        }
     }
 }
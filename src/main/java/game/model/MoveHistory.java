@@ -0,0 +1,190 @@
+package game.model;
+
+/**
+ * Fixed-capacity ring buffer of recent moves.
+ * Moves are packed into a {@code long[]} using the smallest power-of-two bit width
+ * that fits the rule set's move count: 2 bits for the classic game, so a history
+ * of 4096 moves occupies 1 KB regardless of how long the session runs, and up to
+ * 8 bits for the 101-gesture variant. Once full, the oldest moves are overwritten.
+ */
+public class MoveHistory {
+    private static final Choice[] CHOICES = Choice.values();
+
+    private final int moveCount;
+    private final int bitsPerMove;
+    private final int movesPerWord;
+    private final long moveMask;
+    private final long[] words;
+    private final int capacity;
+    private long totalRecorded;
+
+    /**
+     * Creates a history for the classic three-move game.
+     *
+     * @param capacity Number of moves to retain, rounded up to fill whole words
+     */
+    public MoveHistory(int capacity) {
+        this(capacity, CHOICES.length);
+    }
+
+    /**
+     * @param capacity Number of moves to retain, rounded up to fill whole words
+     * @param moveCount Number of distinct moves in the rule set, at most 256
+     */
+    public MoveHistory(int capacity, int moveCount) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        if (moveCount < 2 || moveCount > 256) {
+            throw new IllegalArgumentException("moveCount must be between 2 and 256: " + moveCount);
+        }
+        int bits = 2;
+        while ((1 << bits) < moveCount) {
+            bits *= 2;
+        }
+        this.moveCount = moveCount;
+        this.bitsPerMove = bits;
+        this.movesPerWord = Long.SIZE / bits;
+        this.moveMask = (1L << bits) - 1;
+        int wordCount = (capacity + movesPerWord - 1) / movesPerWord;
+        this.words = new long[wordCount];
+        this.capacity = wordCount * movesPerWord;
+    }
+
+    public void add(Choice choice) {
+        add(choice.ordinal());
+    }
+
+    /**
+     * @param move The index of the move in the active rule set
+     * @throws IllegalArgumentException if {@code move} is not below the history's move count
+     */
+    public void add(int move) {
+        // An unchecked index would spill into the neighbouring packed moves
+        if (move < 0 || move >= moveCount) {
+            throw new IllegalArgumentException("move must be between 0 and " + (moveCount - 1) + ": " + move);
+        }
+        int slot = (int) (totalRecorded % capacity);
+        int word = slot / movesPerWord;
+        int shift = (slot % movesPerWord) * bitsPerMove;
+        words[word] = (words[word] & ~(moveMask << shift)) | (((long) move & moveMask) << shift);
+        totalRecorded++;
+    }
+
+    /**
+     * Returns a classic-game move by age.
+     *
+     * @param ago 0 for the most recent move, 1 for the one before it, and so on
+     * @return The move, never null
+     * @throws IndexOutOfBoundsException if {@code ago} is not below {@link #size()}
+     */
+    public Choice get(int ago) {
+        return CHOICES[moveAt(ago)];
+    }
+
+    /**
+     * Returns the index of a move by age, for callers that index primitive
+     * tables directly or play a rule set other than the classic one.
+     *
+     * @param ago 0 for the most recent move, 1 for the one before it, and so on
+     * @throws IndexOutOfBoundsException if {@code ago} is not below {@link #size()}
+     */
+    public int moveAt(int ago) {
+        if (ago < 0 || ago >= size()) {
+            throw new IndexOutOfBoundsException("ago " + ago + " outside history of size " + size());
+        }
+        int slot = (int) ((totalRecorded - 1 - ago) % capacity);
+        return (int) ((words[slot / movesPerWord] >>> ((slot % movesPerWord) * bitsPerMove)) & moveMask);
+    }
+
+    /**
+     * @return The most recent classic-game move, or null if nothing has been recorded
+     */
+    public Choice last() {
+        return isEmpty() ? null : get(0);
+    }
+
+    /**
+     * Returns up to {@code k} most recent classic-game moves, oldest first.
+     */
+    public Choice[] lastMoves(int k) {
+        int n = Math.min(k, size());
+        Choice[] moves = new Choice[n];
+        for (int i = 0; i < n; i++) {
+            moves[n - 1 - i] = get(i);
+        }
+        return moves;
+    }
+
+    /**
+     * Packs the {@code k} most recent moves into a single value, one bit field
+     * each, with the most recent move in the lowest bits. Allocation-free, for use
+     * as a lookup key by predictive strategies.
+     *
+     * @param k Number of moves, at most {@link #getMaxPackedMoves()} and at most {@link #size()}
+     */
+    public long packedLast(int k) {
+        if (k > movesPerWord || k > size()) {
+            throw new IndexOutOfBoundsException("cannot pack " + k + " moves from history of size " + size());
+        }
+        long packed = 0;
+        for (int i = k - 1; i >= 0; i--) {
+            packed = (packed << bitsPerMove) | moveAt(i);
+        }
+        return packed;
+    }
+
+    /**
+     * @return The most moves {@link #packedLast} can pack into one value
+     */
+    public int getMaxPackedMoves() {
+        return movesPerWord;
+    }
+
+    /**
+     * Counts how often {@code choice} was played in the last {@code window} moves.
+     */
+    public int count(Choice choice, int window) {
+        return count(choice.ordinal(), window);
+    }
+
+    /**
+     * Counts how often {@code move} was played in the last {@code window} moves.
+     */
+    public int count(int move, int window) {
+        int n = Math.min(window, size());
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            if (moveAt(i) == move) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return Number of moves currently retained, at most {@link #capacity()}
+     */
+    public int size() {
+        return (int) Math.min(totalRecorded, capacity);
+    }
+
+    public boolean isEmpty() {
+        return totalRecorded == 0;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return Number of moves recorded since the last clear, including overwritten ones
+     */
+    public long totalRecorded() {
+        return totalRecorded;
+    }
+
+    public void clear() {
+        totalRecorded = 0;
+    }
+}
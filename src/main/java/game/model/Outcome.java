@@ -0,0 +1,30 @@
+package game.model;
+
+/**
+ * Result of a round from the first player's point of view.
+ * Outcomes are resolved from the payoff table a {@link RuleSet} precomputes for
+ * every pair of moves, so a lookup is a single array read and never allocates.
+ */
+public enum Outcome {
+    WIN,
+    DRAW,
+    LOSE;
+
+    /**
+     * @return The outcome for {@code first} playing against {@code second} in the classic game
+     */
+    public static Outcome of(Choice first, Choice second) {
+        return RuleSet.CLASSIC.outcome(first.ordinal(), second.ordinal());
+    }
+
+    /**
+     * @return The same round seen from the other player's side
+     */
+    public Outcome reverse() {
+        return switch (this) {
+            case WIN -> LOSE;
+            case DRAW -> DRAW;
+            case LOSE -> WIN;
+        };
+    }
+}
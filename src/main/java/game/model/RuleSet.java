@@ -0,0 +1,337 @@
+package game.model;
+
+import game.util.Constants;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The moves of a game variant and which move beats which.
+ * Moves are identified by their index, 0 to {@link #getMoveCount()} - 1. For
+ * each move a bitmask records the moves it beats, and a dense
+ * {@code moveCount x moveCount} table holds the resulting {@link Outcome}, so
+ * {@link #beats} and {@link #outcome} are constant-time and branch-free even for
+ * the 101-gesture variant.
+ *
+ * Variants other than {@link #CLASSIC} are loaded from {@code .rules} resources:
+ * <pre>
+ * name = Rock Paper Scissors Lizard Spock
+ * moves = Rock, Paper, Scissors, Lizard, Spock
+ * Rock beats Scissors, Lizard
+ * </pre>
+ * Instead of {@code beats} lines a file may say {@code cyclic = true}, meaning
+ * every move beats the (n - 1) / 2 moves listed after it, wrapping around.
+ * Instead of a {@code moves} list it may give {@code count = 101} to generate
+ * numbered gestures. A file names between 2 and {@link #MAX_MOVES} distinct moves.
+ */
+public final class RuleSet {
+    private static final Outcome[] OUTCOMES = Outcome.values();
+
+    /**
+     * Most moves a loaded rule set may have; the AI's history matcher stores moves as bytes.
+     */
+    public static final int MAX_MOVES = 128;
+
+    /**
+     * Plain rock, paper, scissors; move indices match {@link Choice#ordinal()}.
+     */
+    public static final RuleSet CLASSIC = classic();
+
+    private final String name;
+    private final String[] moveNames;
+    private final int moveCount;
+    private final int maskWords;
+    private final long[] beatMasks;
+    private final byte[] outcomes;
+    private final int[] counters;
+
+    private RuleSet(String name, String[] moveNames, boolean[][] beats) {
+        this.name = name;
+        this.moveNames = moveNames;
+        this.moveCount = moveNames.length;
+        this.maskWords = (moveCount + Long.SIZE - 1) / Long.SIZE;
+        this.beatMasks = new long[moveCount * maskWords];
+        this.outcomes = new byte[moveCount * moveCount];
+        this.counters = new int[moveCount];
+
+        int[] wins = new int[moveCount];
+        for (int a = 0; a < moveCount; a++) {
+            for (int b = 0; b < moveCount; b++) {
+                Outcome outcome;
+                if (beats[a][b]) {
+                    beatMasks[a * maskWords + (b >>> 6)] |= 1L << b;
+                    wins[a]++;
+                    outcome = Outcome.WIN;
+                } else if (beats[b][a]) {
+                    outcome = Outcome.LOSE;
+                } else {
+                    outcome = Outcome.DRAW;
+                }
+                outcomes[a * moveCount + b] = (byte) outcome.ordinal();
+            }
+        }
+
+        // The counter to a move is the strongest move that beats it
+        for (int target = 0; target < moveCount; target++) {
+            int best = -1;
+            for (int m = 0; m < moveCount; m++) {
+                if (beats[m][target] && (best < 0 || wins[m] > wins[best])) {
+                    best = m;
+                }
+            }
+            counters[target] = best < 0 ? target : best;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    public String getMoveName(int move) {
+        return moveNames[move];
+    }
+
+    /**
+     * @return true if move {@code a} beats move {@code b}
+     */
+    public boolean beats(int a, int b) {
+        return ((beatMasks[a * maskWords + (b >>> 6)] >>> b) & 1L) != 0;
+    }
+
+    /**
+     * @return The outcome of move {@code first} played against move {@code second}
+     */
+    public Outcome outcome(int first, int second) {
+        return OUTCOMES[outcomes[first * moveCount + second]];
+    }
+
+    /**
+     * @return A move that beats {@code move}, chosen once when the rule set is built
+     */
+    public int counter(int move) {
+        return counters[move];
+    }
+
+    /**
+     * @return true for the three-move game whose indices are {@link Choice} ordinals
+     */
+    public boolean isClassic() {
+        return this == CLASSIC;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    /**
+     * @return The classic rules followed by every variant listed in {@code Constants.Assets.RULE_SETS}
+     */
+    public static List<RuleSet> getBuiltIns() {
+        return BuiltIns.RULE_SETS;
+    }
+
+    /**
+     * Looks a built-in rule set up by name, ignoring case.
+     *
+     * @return The rule set, or {@link #CLASSIC} if no built-in has that name
+     */
+    public static RuleSet forName(String name) {
+        for (RuleSet ruleSet : getBuiltIns()) {
+            if (ruleSet.name.equalsIgnoreCase(name)) {
+                return ruleSet;
+            }
+        }
+        return CLASSIC;
+    }
+
+    /**
+     * Builds a balanced rule set where each move beats the (n - 1) / 2 moves after it.
+     */
+    public static RuleSet cyclic(String name, String... moveNames) {
+        int n = moveNames.length;
+        if (n < 3 || n % 2 == 0) {
+            throw new IllegalArgumentException("a cyclic rule set needs an odd number of moves, at least 3: " + n);
+        }
+        boolean[][] beats = new boolean[n][n];
+        for (int a = 0; a < n; a++) {
+            for (int step = 1; step <= (n - 1) / 2; step++) {
+                beats[a][(a + step) % n] = true;
+            }
+        }
+        return new RuleSet(name, moveNames.clone(), beats);
+    }
+
+    /**
+     * Loads a rule set from a {@code .rules} class path resource.
+     *
+     * @throws IllegalArgumentException if the resource is missing or malformed
+     */
+    public static RuleSet load(String resourcePath) {
+        InputStream stream = RuleSet.class.getResourceAsStream(resourcePath);
+        if (stream == null) {
+            throw new IllegalArgumentException("Could not find rule set: " + resourcePath);
+        }
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read rule set: " + resourcePath, e);
+        }
+        return parse(resourcePath, lines);
+    }
+
+    static RuleSet parse(String source, List<String> lines) {
+        String name = source;
+        String[] moveNames = null;
+        boolean cyclic = false;
+        List<String[]> beatLines = new ArrayList<>();
+
+        for (String raw : lines) {
+            String line = raw.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int equals = line.indexOf('=');
+            int beatsAt = line.indexOf(" beats ");
+            if (equals > 0) {
+                String key = line.substring(0, equals).strip();
+                String value = line.substring(equals + 1).strip();
+                switch (key) {
+                    case "name" -> name = value;
+                    case "moves" -> moveNames = splitList(value);
+                    case "count" -> moveNames = numberedMoves(parseCount(value, source));
+                    case "cyclic" -> cyclic = Boolean.parseBoolean(value);
+                    default -> throw new IllegalArgumentException(source + ": unknown key '" + key + "'");
+                }
+            } else if (beatsAt > 0) {
+                beatLines.add(new String[] {
+                    line.substring(0, beatsAt).strip(),
+                    line.substring(beatsAt + " beats ".length())
+                });
+            } else {
+                throw new IllegalArgumentException(source + ": cannot parse '" + line + "'");
+            }
+        }
+
+        if (moveNames == null) {
+            throw new IllegalArgumentException(source + ": no moves defined");
+        }
+        checkMoves(moveNames, source);
+        if (cyclic) {
+            return cyclic(name, moveNames);
+        }
+
+        List<String> index = Arrays.asList(moveNames);
+        boolean[][] beats = new boolean[moveNames.length][moveNames.length];
+        for (String[] beatLine : beatLines) {
+            int winner = indexOf(index, beatLine[0], source);
+            for (String loserName : splitList(beatLine[1])) {
+                int loser = indexOf(index, loserName, source);
+                if (winner == loser || beats[loser][winner]) {
+                    throw new IllegalArgumentException(source + ": contradictory rule '"
+                                                       + beatLine[0] + " beats " + loserName + "'");
+                }
+                beats[winner][loser] = true;
+            }
+        }
+        return new RuleSet(name, moveNames, beats);
+    }
+
+    private static void checkMoves(String[] moveNames, String source) {
+        if (moveNames.length < 2 || moveNames.length > MAX_MOVES) {
+            throw new IllegalArgumentException(source + ": must define between 2 and " + MAX_MOVES
+                                               + " moves, not " + moveNames.length);
+        }
+        Set<String> seen = new HashSet<>();
+        for (String move : moveNames) {
+            if (!seen.add(move)) {
+                throw new IllegalArgumentException(source + ": duplicate move '" + move + "'");
+            }
+        }
+    }
+
+    private static int indexOf(List<String> moveNames, String move, String source) {
+        int index = moveNames.indexOf(move);
+        if (index < 0) {
+            throw new IllegalArgumentException(source + ": unknown move '" + move + "'");
+        }
+        return index;
+    }
+
+    private static String[] splitList(String value) {
+        String[] parts = value.split(",");
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = parts[i].strip();
+        }
+        return parts;
+    }
+
+    private static int parseCount(String value, String source) {
+        try {
+            int count = Integer.parseInt(value);
+            // Checked here too so a huge count fails before the names are generated
+            if (count < 2 || count > MAX_MOVES) {
+                throw new IllegalArgumentException(source + ": count must be between 2 and "
+                                                   + MAX_MOVES + ": " + count);
+            }
+            return count;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(source + ": count is not a number: '" + value + "'");
+        }
+    }
+
+    private static String[] numberedMoves(int count) {
+        String[] names = new String[count];
+        for (int i = 0; i < count; i++) {
+            names[i] = "Gesture " + (i + 1);
+        }
+        return names;
+    }
+
+    private static RuleSet classic() {
+        Choice[] choices = Choice.values();
+        String[] names = new String[choices.length];
+        boolean[][] beats = new boolean[choices.length][choices.length];
+        for (int i = 0; i < choices.length; i++) {
+            names[i] = choices[i].getDisplayName();
+            // Each choice beats the one declared just before it: paper beats rock, and so on
+            beats[i][Math.floorMod(i - 1, choices.length)] = true;
+        }
+        return new RuleSet("Classic", names, beats);
+    }
+
+    // Loaded on first use so the classic rules never depend on resource files
+    private static final class BuiltIns {
+        static final List<RuleSet> RULE_SETS = loadBuiltIns();
+
+        private static List<RuleSet> loadBuiltIns() {
+            List<RuleSet> ruleSets = new ArrayList<>();
+            ruleSets.add(CLASSIC);
+            for (String path : Constants.Assets.RULE_SETS) {
+                try {
+                    ruleSets.add(load(path));
+                } catch (RuntimeException e) {
+                    System.err.println("Could not load rule set " + path + ": " + e.getMessage());
+                }
+            }
+            return Collections.unmodifiableList(ruleSets);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package game.sim;
+
+import game.ai.Difficulty;
+
+/**
+ * Aggregated outcomes of every match between two AIs, from {@code first}'s point of view.
+ * Alongside the totals it keeps the sum of squared per-match counts, so the
+ * confidence intervals reflect the spread between matches rather than treating
+ * rounds within a match, which an adaptive AI makes dependent, as independent.
+ */
+public record MatchupResult(Difficulty first, Difficulty second, int matches, int roundsPerMatch,
+                            long wins, long draws, long losses,
+                            double winSquares, double drawSquares, double lossSquares, double netSquares) {
+
+    // Two-sided 95% quantile of the normal distribution
+    private static final double Z_95 = 1.959964;
+
+    public long rounds() {
+        return (long) matches * roundsPerMatch;
+    }
+
+    public double winRate() {
+        return rate(wins);
+    }
+
+    public double drawRate() {
+        return rate(draws);
+    }
+
+    public double lossRate() {
+        return rate(losses);
+    }
+
+    /**
+     * @return {@code first}'s expected score per round: win rate minus loss rate
+     */
+    public double netScore() {
+        return rate(wins - losses);
+    }
+
+    public double winInterval() {
+        return interval(wins, winSquares);
+    }
+
+    public double drawInterval() {
+        return interval(draws, drawSquares);
+    }
+
+    public double lossInterval() {
+        return interval(losses, lossSquares);
+    }
+
+    public double netInterval() {
+        return interval(wins - losses, netSquares);
+    }
+
+    /**
+     * @return The same matchup seen from {@code second}'s point of view
+     */
+    public MatchupResult reverse() {
+        return new MatchupResult(second, first, matches, roundsPerMatch,
+                                 losses, draws, wins, lossSquares, drawSquares, winSquares, netSquares);
+    }
+
+    private double rate(long count) {
+        long rounds = rounds();
+        return rounds == 0 ? 0.0 : (double) count / rounds;
+    }
+
+    /**
+     * Half-width of the 95% confidence interval of a per-round rate, from the
+     * sum and sum of squares of its per-match counts.
+     */
+    private double interval(long sum, double sumSquares) {
+        if (matches < 2) {
+            return Double.NaN;
+        }
+        double mean = (double) sum / matches;
+        double variance = Math.max(0.0, (sumSquares - mean * sum) / (matches - 1));
+        return Z_95 * Math.sqrt(variance / matches) / roundsPerMatch;
+    }
+}
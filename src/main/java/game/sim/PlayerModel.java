@@ -0,0 +1,27 @@
+package game.sim;
+
+import java.util.SplittableRandom;
+
+/**
+ * A scripted stand-in for a human player used by the headless simulator.
+ * Moves are indices into the session's rule set. Instances are stateful and
+ * belong to a single simulated session.
+ */
+public interface PlayerModel {
+    /**
+     * Picks the player's move for the next round.
+     *
+     * @param random The session's random stream
+     * @return The index of the move to play
+     */
+    int next(SplittableRandom random);
+
+    /**
+     * Called after each round with both moves so adaptive models can react.
+     *
+     * @param own The move this player made
+     * @param opponent The move the computer made
+     */
+    default void observe(int own, int opponent) {
+    }
+}
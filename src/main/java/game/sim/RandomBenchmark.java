@@ -0,0 +1,116 @@
+package game.sim;
+
+import game.ai.Difficulty;
+import game.model.Choice;
+import game.model.GameLogic;
+import game.model.RuleSet;
+import game.util.Constants;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.IntFunction;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Compares random generators in the {@link GameLogic#getComputerChoice()} hot path.
+ * For the difficulties whose moves are mostly random it times the call on one
+ * thread, then on every core with a generator per thread, and finally with one
+ * {@code java.util.Random} shared by all threads to show the cost of its CAS
+ * seed update under contention.
+ *
+ * Usage: {@code RandomBenchmark [callsPerThread]}
+ */
+public class RandomBenchmark {
+    private static final long SEED = 42L;
+    private static final String[] ALGORITHMS = {
+        "Random", "SplittableRandom", "Xoshiro256PlusPlus", "L32X64MixRandom", "L64X128MixRandom"
+    };
+    private static final Difficulty[] DIFFICULTIES = {Difficulty.EASY, Difficulty.MEDIUM};
+
+    private static volatile long sink;
+
+    public static void main(String[] args) {
+        int calls = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        System.out.println("Timing " + calls + " getComputerChoice() calls per thread, default generator "
+                           + Constants.RANDOM_ALGORITHM);
+        System.out.printf("%-22s %-8s %10s %18s %18s%n",
+                          "Generator", "AI", "ns/call", "calls/sec x1", "calls/sec x" + threads);
+
+        try {
+            for (Difficulty difficulty : DIFFICULTIES) {
+                for (String algorithm : ALGORITHMS) {
+                    RandomGeneratorFactory<RandomGenerator> factory = RandomGeneratorFactory.of(algorithm);
+                    double single = measure(i -> factory.create(SEED), difficulty, calls, 1);
+                    double parallel = measure(i -> factory.create(SEED + i), difficulty, calls, threads);
+                    print(algorithm, difficulty, single, parallel);
+                }
+                // java.util.Random is thread-safe, so sharing it is legal, just slow
+                RandomGenerator shared = new Random(SEED);
+                print("Random (shared)", difficulty, Double.NaN, measure(i -> shared, difficulty, calls, threads));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Benchmark interrupted");
+        }
+    }
+
+    private static void print(String generator, Difficulty difficulty, double single, double parallel) {
+        boolean timedAlone = !Double.isNaN(single);
+        System.out.printf("%-22s %-8s %10s %18s %,18.0f%n",
+                          generator, difficulty,
+                          timedAlone ? String.format("%.1f", 1e9 / single) : "-",
+                          timedAlone ? String.format("%,.0f", single) : "-",
+                          parallel);
+    }
+
+    /**
+     * Runs {@code threads} sessions at once, each warmed up and then timed.
+     *
+     * @return Total calls per second across all threads
+     */
+    private static double measure(IntFunction<RandomGenerator> generators, Difficulty difficulty,
+                                  int calls, int threads) throws InterruptedException {
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        long[] elapsed = new long[threads];
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            GameLogic gameLogic = new GameLogic(Constants.MODE_PVC, difficulty.name(),
+                                                RuleSet.CLASSIC, generators.apply(t));
+            workers[t] = new Thread(() -> {
+                play(gameLogic, calls / 10);
+                ready.countDown();
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long begin = System.nanoTime();
+                play(gameLogic, calls);
+                elapsed[index] = System.nanoTime() - begin;
+            }, "random-benchmark-" + t);
+            workers[t].start();
+        }
+        ready.await();
+        start.countDown();
+        long slowest = 1;
+        for (int t = 0; t < threads; t++) {
+            workers[t].join();
+            slowest = Math.max(slowest, elapsed[t]);
+        }
+        return (double) calls * threads * 1e9 / slowest;
+    }
+
+    private static void play(GameLogic gameLogic, int calls) {
+        long total = 0;
+        for (int i = 0; i < calls; i++) {
+            Choice choice = gameLogic.getComputerChoice();
+            total += choice.ordinal();
+        }
+        sink += total;
+    }
+}
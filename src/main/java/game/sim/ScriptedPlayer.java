@@ -0,0 +1,104 @@
+package game.sim;
+
+import game.model.RuleSet;
+import java.util.SplittableRandom;
+
+/**
+ * The catalogue of scripted player behaviours the simulator can run against the AI.
+ */
+public enum ScriptedPlayer {
+    RANDOM("Uniform random") {
+        @Override
+        public PlayerModel create(RuleSet rules) {
+            int moves = rules.getMoveCount();
+            return random -> random.nextInt(moves);
+        }
+    },
+    ROCK_ONLY("Always the first move (rock)") {
+        @Override
+        public PlayerModel create(RuleSet rules) {
+            return random -> 0;
+        }
+    },
+    ROCK_BIASED("First move half the time") {
+        @Override
+        public PlayerModel create(RuleSet rules) {
+            int moves = rules.getMoveCount();
+            return random -> random.nextBoolean() ? 0 : random.nextInt(moves);
+        }
+    },
+    CYCLE("Every move in turn") {
+        @Override
+        public PlayerModel create(RuleSet rules) {
+            int moves = rules.getMoveCount();
+            return new PlayerModel() {
+                private int index = 0;
+
+                @Override
+                public int next(SplittableRandom random) {
+                    int move = index;
+                    index = (index + 1) % moves;
+                    return move;
+                }
+            };
+        }
+    },
+    WIN_STAY_LOSE_SHIFT("Repeat after a win, switch to the counter after a loss") {
+        @Override
+        public PlayerModel create(RuleSet rules) {
+            return new PlayerModel() {
+                private int current = -1;
+
+                @Override
+                public int next(SplittableRandom random) {
+                    if (current < 0) {
+                        current = random.nextInt(rules.getMoveCount());
+                    }
+                    return current;
+                }
+
+                @Override
+                public void observe(int own, int opponent) {
+                    if (rules.beats(opponent, own)) {
+                        current = rules.counter(own);
+                    }
+                }
+            };
+        }
+    },
+    COPY_OPPONENT("Copy the computer's last move") {
+        @Override
+        public PlayerModel create(RuleSet rules) {
+            return new PlayerModel() {
+                private int last = -1;
+
+                @Override
+                public int next(SplittableRandom random) {
+                    return last >= 0 ? last : random.nextInt(rules.getMoveCount());
+                }
+
+                @Override
+                public void observe(int own, int opponent) {
+                    last = opponent;
+                }
+            };
+        }
+    };
+
+    private final String description;
+
+    ScriptedPlayer(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Creates a fresh, independent model for one simulated session.
+     *
+     * @param rules The rules the session is played under
+     */
+    public abstract PlayerModel create(RuleSet rules);
+}
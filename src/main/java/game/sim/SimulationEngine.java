@@ -0,0 +1,128 @@
+package game.sim;
+
+import game.ai.Difficulty;
+import game.model.GameLogic;
+import game.model.Outcome;
+import game.model.RuleSet;
+import game.util.Constants;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Runs headless player-vs-computer sessions through {@link GameLogic} in parallel.
+ * Sessions are split across a fork/join pool; every leaf task owns its own
+ * {@code GameLogic} instances, player models and random stream, so workers never
+ * share mutable state and throughput scales with the number of cores.
+ */
+public class SimulationEngine {
+    // Sessions handled by a single leaf task before it stops splitting
+    private static final int SESSIONS_PER_TASK = 4;
+
+    private final ForkJoinPool pool;
+    private final long seed;
+
+    public SimulationEngine() {
+        this(ForkJoinPool.commonPool(), System.nanoTime());
+    }
+
+    public SimulationEngine(ForkJoinPool pool, long seed) {
+        this.pool = pool;
+        this.seed = seed;
+    }
+
+    /**
+     * Plays {@code sessions} independent classic games of {@code roundsPerSession} rounds each.
+     */
+    public SimulationResult run(Difficulty difficulty, ScriptedPlayer player, int sessions, int roundsPerSession) {
+        return run(difficulty, player, RuleSet.CLASSIC, sessions, roundsPerSession);
+    }
+
+    /**
+     * Plays {@code sessions} independent games of {@code roundsPerSession} rounds each.
+     *
+     * @param difficulty The computer difficulty
+     * @param player The scripted player behaviour
+     * @param ruleSet The rules every session is played under
+     * @param sessions Number of independent sessions (a fresh GameLogic each)
+     * @param roundsPerSession Rounds played in every session
+     * @return Aggregated counts and throughput
+     */
+    public SimulationResult run(Difficulty difficulty, ScriptedPlayer player, RuleSet ruleSet,
+                                int sessions, int roundsPerSession) {
+        if (sessions <= 0 || roundsPerSession <= 0) {
+            throw new IllegalArgumentException("sessions and roundsPerSession must be positive");
+        }
+        long start = System.nanoTime();
+        long[] counts = pool.invoke(new SessionTask(difficulty, player, ruleSet, roundsPerSession,
+                                                    0, sessions, new SplittableRandom(seed)));
+        long elapsed = System.nanoTime() - start;
+        return new SimulationResult(difficulty, player, counts[0], counts[1], counts[2], elapsed);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Plays one session and adds its outcomes to {@code counts}, indexed by
+     * {@link Outcome#ordinal()} (player wins, draws, computer wins).
+     */
+    static void playSession(Difficulty difficulty, RuleSet ruleSet, PlayerModel model, int rounds,
+                            SplittableRandom random, long[] counts) {
+        GameLogic gameLogic = new GameLogic(Constants.MODE_PVC, difficulty.name(), ruleSet, random.split());
+        for (int i = 0; i < rounds; i++) {
+            int playerMove = model.next(random);
+            Outcome outcome = gameLogic.playRound(playerMove);
+            counts[outcome.ordinal()]++;
+            model.observe(playerMove, gameLogic.getLastComputerMove());
+        }
+    }
+
+    private static final class SessionTask extends RecursiveTask<long[]> {
+        private final Difficulty difficulty;
+        private final ScriptedPlayer player;
+        private final RuleSet ruleSet;
+        private final int roundsPerSession;
+        private final int from;
+        private final int to;
+        private final SplittableRandom random;
+
+        SessionTask(Difficulty difficulty, ScriptedPlayer player, RuleSet ruleSet, int roundsPerSession,
+                    int from, int to, SplittableRandom random) {
+            this.difficulty = difficulty;
+            this.player = player;
+            this.ruleSet = ruleSet;
+            this.roundsPerSession = roundsPerSession;
+            this.from = from;
+            this.to = to;
+            this.random = random;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= SESSIONS_PER_TASK) {
+                long[] counts = new long[3];
+                for (int s = from; s < to; s++) {
+                    playSession(difficulty, ruleSet, player.create(ruleSet), roundsPerSession, random, counts);
+                }
+                return counts;
+            }
+
+            int mid = (from + to) >>> 1;
+            SessionTask left = new SessionTask(difficulty, player, ruleSet, roundsPerSession, from, mid, random.split());
+            SessionTask right = new SessionTask(difficulty, player, ruleSet, roundsPerSession, mid, to, random.split());
+            left.fork();
+            long[] counts = right.compute();
+            long[] leftCounts = left.join();
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += leftCounts[i];
+            }
+            return counts;
+        }
+    }
+}
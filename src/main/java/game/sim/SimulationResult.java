@@ -0,0 +1,36 @@
+package game.sim;
+
+import game.ai.Difficulty;
+
+/**
+ * Aggregated outcome counts and throughput for one difficulty/player pairing.
+ */
+public record SimulationResult(Difficulty difficulty, ScriptedPlayer player,
+                               long playerWins, long draws, long computerWins,
+                               long elapsedNanos) {
+
+    public long rounds() {
+        return playerWins + draws + computerWins;
+    }
+
+    public double roundsPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : rounds() * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    public double playerWinRate() {
+        return rate(playerWins);
+    }
+
+    public double drawRate() {
+        return rate(draws);
+    }
+
+    public double computerWinRate() {
+        return rate(computerWins);
+    }
+
+    private double rate(long count) {
+        long rounds = rounds();
+        return rounds == 0 ? 0.0 : (double) count / rounds;
+    }
+}
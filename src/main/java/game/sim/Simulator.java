@@ -0,0 +1,48 @@
+package game.sim;
+
+import game.ai.Difficulty;
+import game.ai.StrategyRegistry;
+import game.model.RuleSet;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Command line front end for the headless simulation engine.
+ * Runs every difficulty against every scripted player and prints the outcome
+ * distribution and throughput of each pairing.
+ *
+ * Usage: {@code Simulator [sessions] [roundsPerSession] [ruleSetName] [seed]}
+ */
+public class Simulator {
+    public static void main(String[] args) {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 1_000;
+        int roundsPerSession = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        RuleSet ruleSet = args.length > 2 ? RuleSet.forName(args[2]) : RuleSet.CLASSIC;
+
+        SimulationEngine engine = args.length > 3
+            ? new SimulationEngine(ForkJoinPool.commonPool(), Long.parseLong(args[3]))
+            : new SimulationEngine();
+        System.out.println("Simulating " + sessions + " sessions x " + roundsPerSession
+                           + " rounds per pairing of " + ruleSet + " on " + engine.getParallelism()
+                           + " workers, seed " + engine.getSeed());
+        System.out.printf("%-8s %-22s %8s %8s %8s %14s%n",
+                          "AI", "Player", "Win%", "Draw%", "Lose%", "Rounds/sec");
+
+        long totalRounds = 0;
+        long totalNanos = 0;
+        for (Difficulty difficulty : StrategyRegistry.getRegisteredDifficulties()) {
+            for (ScriptedPlayer player : ScriptedPlayer.values()) {
+                SimulationResult result = engine.run(difficulty, player, ruleSet, sessions, roundsPerSession);
+                totalRounds += result.rounds();
+                totalNanos += result.elapsedNanos();
+                System.out.printf("%-8s %-22s %7.2f%% %7.2f%% %7.2f%% %,14.0f%n",
+                                  difficulty, player,
+                                  result.playerWinRate() * 100,
+                                  result.drawRate() * 100,
+                                  result.computerWinRate() * 100,
+                                  result.roundsPerSecond());
+            }
+        }
+        System.out.printf("Total: %,d rounds at %,.0f rounds/sec%n",
+                          totalRounds, totalRounds * 1_000_000_000.0 / Math.max(1, totalNanos));
+    }
+}
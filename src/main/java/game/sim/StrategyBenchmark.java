@@ -0,0 +1,90 @@
+package game.sim;
+
+import game.ai.Difficulty;
+import game.ai.Strategy;
+import game.ai.StrategyRegistry;
+import game.model.MoveHistory;
+import game.model.RuleSet;
+import game.util.Constants;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Measures decide latency and allocation for every registered strategy.
+ * Each strategy plays against a uniformly random player, which exercises every
+ * context its model can see, first for a warm-up phase and then while timing
+ * each {@link Strategy#decide} call and counting the bytes the thread allocates.
+ *
+ * Usage: {@code StrategyBenchmark [rounds] [ruleSetName]}
+ */
+public class StrategyBenchmark {
+    private static final long SEED = 42L;
+
+    public static void main(String[] args) {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        RuleSet ruleSet = args.length > 1 ? RuleSet.forName(args[1]) : RuleSet.CLASSIC;
+        int warmupRounds = rounds / 2;
+
+        System.out.println("Benchmarking " + rounds + " rounds of " + ruleSet + " per strategy after "
+                           + warmupRounds + " warm-up rounds");
+        System.out.printf("%-8s %12s %12s %12s %14s%n",
+                          "AI", "mean ns", "p50 ns", "p99 ns", "bytes/round");
+
+        long[] samples = new long[rounds];
+        for (Difficulty difficulty : StrategyRegistry.getRegisteredDifficulties()) {
+            Strategy strategy = StrategyRegistry.create(difficulty, ruleSet);
+            MoveHistory history = new MoveHistory(Constants.MOVE_HISTORY_CAPACITY, ruleSet.getMoveCount());
+            SplittableRandom random = new SplittableRandom(SEED);
+
+            play(strategy, ruleSet, history, random, warmupRounds, null);
+
+            long allocatedBefore = allocatedBytes();
+            play(strategy, ruleSet, history, random, rounds, samples);
+            long allocated = allocatedBytes() - allocatedBefore;
+
+            long total = 0;
+            for (long sample : samples) {
+                total += sample;
+            }
+            Arrays.sort(samples);
+            System.out.printf("%-8s %12.1f %12d %12d %14s%n",
+                              difficulty,
+                              (double) total / rounds,
+                              samples[rounds / 2],
+                              samples[Math.min(rounds - 1, (int) (rounds * 0.99))],
+                              allocated < 0 ? "n/a" : String.format("%.2f", (double) allocated / rounds));
+        }
+    }
+
+    /**
+     * Plays {@code rounds} rounds, storing each decide time in {@code samples} when given.
+     */
+    private static void play(Strategy strategy, RuleSet ruleSet, MoveHistory history,
+                             SplittableRandom random, int rounds, long[] samples) {
+        for (int i = 0; i < rounds; i++) {
+            long start = System.nanoTime();
+            int decision = strategy.decide(history, random);
+            long elapsed = System.nanoTime() - start;
+            if (samples != null) {
+                samples[i] = elapsed;
+            }
+            if (decision < 0 || decision >= ruleSet.getMoveCount()) {
+                throw new IllegalStateException(strategy.getClass().getSimpleName() + " returned move " + decision);
+            }
+            history.add(random.nextInt(ruleSet.getMoveCount()));
+            strategy.observe(history);
+        }
+    }
+
+    /**
+     * @return Bytes allocated so far by the current thread, or -1 if the JVM cannot tell
+     */
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported()) {
+            return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,168 @@
+package game.sim;
+
+import game.ai.Difficulty;
+import game.model.GameLogic;
+import game.model.Outcome;
+import game.model.RuleSet;
+import game.util.Constants;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Round-robin tournament between AI difficulties, each driven through its own {@link GameLogic}.
+ * In every round both AIs pick a move, then each is shown the other's move as
+ * its player's move, so adaptive strategies learn from their opponent exactly as
+ * they would from a human.
+ *
+ * Every pairing, mirror matches included, is a fork/join task that splits its
+ * matches further. Each pairing's random stream is split from the tournament
+ * seed in bracket order, and each task splits its own stream in a fixed order,
+ * so results are reproducible for a seed however the pool schedules the work.
+ */
+public class Tournament {
+    // Matches handled by a single leaf task before it stops splitting
+    private static final int MATCHES_PER_TASK = 4;
+
+    // Layout of the per-task totals
+    private static final int WINS = 0;
+    private static final int DRAWS = 1;
+    private static final int LOSSES = 2;
+    private static final int WIN_SQUARES = 3;
+    private static final int DRAW_SQUARES = 4;
+    private static final int LOSS_SQUARES = 5;
+    private static final int NET_SQUARES = 6;
+    private static final int TOTALS = 7;
+
+    private final ForkJoinPool pool;
+    private final long seed;
+
+    public Tournament() {
+        this(ForkJoinPool.commonPool(), System.nanoTime());
+    }
+
+    public Tournament(ForkJoinPool pool, long seed) {
+        this.pool = pool;
+        this.seed = seed;
+    }
+
+    /**
+     * Plays every entrant against every other entrant and itself.
+     *
+     * @param entrants The AIs taking part
+     * @param ruleSet The rules every match is played under
+     * @param matchesPerPairing Independent matches (fresh GameLogic pairs) per pairing
+     * @param roundsPerMatch Rounds played in every match
+     * @return One result per pairing, in bracket order, and the total wall time
+     */
+    public TournamentResult run(List<Difficulty> entrants, RuleSet ruleSet,
+                                int matchesPerPairing, int roundsPerMatch) {
+        if (entrants.isEmpty() || matchesPerPairing <= 0 || roundsPerMatch <= 0) {
+            throw new IllegalArgumentException(
+                "entrants must not be empty; matchesPerPairing and roundsPerMatch must be positive");
+        }
+        SplittableRandom bracketRandom = new SplittableRandom(seed);
+        List<MatchTask> tasks = new ArrayList<>();
+        for (int i = 0; i < entrants.size(); i++) {
+            for (int j = i; j < entrants.size(); j++) {
+                tasks.add(new MatchTask(entrants.get(i), entrants.get(j), ruleSet, roundsPerMatch,
+                                        0, matchesPerPairing, bracketRandom.split()));
+            }
+        }
+
+        long start = System.nanoTime();
+        for (MatchTask task : tasks) {
+            pool.execute(task);
+        }
+        List<MatchupResult> matchups = new ArrayList<>(tasks.size());
+        for (MatchTask task : tasks) {
+            double[] totals = task.join();
+            matchups.add(new MatchupResult(task.first, task.second, matchesPerPairing, roundsPerMatch,
+                                           (long) totals[WINS], (long) totals[DRAWS], (long) totals[LOSSES],
+                                           totals[WIN_SQUARES], totals[DRAW_SQUARES],
+                                           totals[LOSS_SQUARES], totals[NET_SQUARES]));
+        }
+        long elapsed = System.nanoTime() - start;
+        return new TournamentResult(List.copyOf(entrants), matchups, elapsed);
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Plays one match and adds its counts, from {@code first}'s point of view, to {@code totals}.
+     */
+    static void playMatch(Difficulty first, Difficulty second, RuleSet ruleSet, int rounds,
+                          SplittableRandom random, double[] totals) {
+        GameLogic firstLogic = new GameLogic(Constants.MODE_PVC, first.name(), ruleSet, random.split());
+        GameLogic secondLogic = new GameLogic(Constants.MODE_PVC, second.name(), ruleSet, random.split());
+        long wins = 0;
+        long draws = 0;
+        for (int i = 0; i < rounds; i++) {
+            int firstMove = firstLogic.getComputerMove();
+            int secondMove = secondLogic.getComputerMove();
+            // Each AI sees the other as its player; the second logic's player is the first AI
+            Outcome outcome = secondLogic.determineWinner(firstMove, secondMove);
+            firstLogic.determineWinner(secondMove, firstMove);
+            if (outcome == Outcome.WIN) {
+                wins++;
+            } else if (outcome == Outcome.DRAW) {
+                draws++;
+            }
+        }
+        long losses = rounds - wins - draws;
+        totals[WINS] += wins;
+        totals[DRAWS] += draws;
+        totals[LOSSES] += losses;
+        totals[WIN_SQUARES] += (double) wins * wins;
+        totals[DRAW_SQUARES] += (double) draws * draws;
+        totals[LOSS_SQUARES] += (double) losses * losses;
+        totals[NET_SQUARES] += (double) (wins - losses) * (wins - losses);
+    }
+
+    private static final class MatchTask extends RecursiveTask<double[]> {
+        private final Difficulty first;
+        private final Difficulty second;
+        private final RuleSet ruleSet;
+        private final int roundsPerMatch;
+        private final int from;
+        private final int to;
+        private final SplittableRandom random;
+
+        MatchTask(Difficulty first, Difficulty second, RuleSet ruleSet, int roundsPerMatch,
+                  int from, int to, SplittableRandom random) {
+            this.first = first;
+            this.second = second;
+            this.ruleSet = ruleSet;
+            this.roundsPerMatch = roundsPerMatch;
+            this.from = from;
+            this.to = to;
+            this.random = random;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (to - from <= MATCHES_PER_TASK) {
+                double[] totals = new double[TOTALS];
+                for (int m = from; m < to; m++) {
+                    playMatch(first, second, ruleSet, roundsPerMatch, random, totals);
+                }
+                return totals;
+            }
+
+            int mid = (from + to) >>> 1;
+            MatchTask left = new MatchTask(first, second, ruleSet, roundsPerMatch, from, mid, random.split());
+            MatchTask right = new MatchTask(first, second, ruleSet, roundsPerMatch, mid, to, random.split());
+            left.fork();
+            double[] totals = right.compute();
+            double[] leftTotals = left.join();
+            for (int i = 0; i < totals.length; i++) {
+                totals[i] += leftTotals[i];
+            }
+            return totals;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package game.sim;
+
+import game.ai.Difficulty;
+import java.util.List;
+
+/**
+ * Every matchup of a round-robin tournament and the wall time the whole bracket took.
+ */
+public record TournamentResult(List<Difficulty> entrants, List<MatchupResult> matchups, long elapsedNanos) {
+
+    public long rounds() {
+        long rounds = 0;
+        for (MatchupResult matchup : matchups) {
+            rounds += matchup.rounds();
+        }
+        return rounds;
+    }
+
+    public double roundsPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : rounds() * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * @return The matchup between two entrants from {@code first}'s point of view
+     * @throws IllegalArgumentException if the two never met
+     */
+    public MatchupResult get(Difficulty first, Difficulty second) {
+        for (MatchupResult matchup : matchups) {
+            if (matchup.first() == first && matchup.second() == second) {
+                return matchup;
+            }
+            if (matchup.first() == second && matchup.second() == first) {
+                return matchup.reverse();
+            }
+        }
+        throw new IllegalArgumentException("No matchup between " + first + " and " + second);
+    }
+}
@@ -0,0 +1,67 @@
+package game.sim;
+
+import game.ai.Difficulty;
+import game.ai.StrategyRegistry;
+import game.model.RuleSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Command line front end for the round-robin AI tournament.
+ * Prints every pairing's win/draw/loss rates with 95% confidence intervals,
+ * then a matrix of each row AI's net score against each column AI, and the
+ * throughput of the whole bracket.
+ *
+ * Usage: {@code TournamentRunner [roundsPerPairing] [roundsPerMatch] [ruleSetName] [seed]}
+ */
+public class TournamentRunner {
+    public static void main(String[] args) {
+        int roundsPerPairing = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int roundsPerMatch = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        RuleSet ruleSet = args.length > 2 ? RuleSet.forName(args[2]) : RuleSet.CLASSIC;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42L;
+        int matchesPerPairing = Math.max(1, roundsPerPairing / roundsPerMatch);
+
+        List<Difficulty> entrants = List.copyOf(StrategyRegistry.getRegisteredDifficulties());
+        Tournament tournament = new Tournament(ForkJoinPool.commonPool(), seed);
+        System.out.println("Tournament of " + entrants.size() + " AIs: " + matchesPerPairing + " matches x "
+                           + roundsPerMatch + " rounds per pairing of " + ruleSet + " on "
+                           + tournament.getParallelism() + " workers, seed " + seed);
+
+        TournamentResult result = tournament.run(entrants, ruleSet, matchesPerPairing, roundsPerMatch);
+
+        System.out.printf("%-8s %-8s %17s %17s %17s %17s%n",
+                          "First", "Second", "Win%", "Draw%", "Lose%", "Net%");
+        for (MatchupResult matchup : result.matchups()) {
+            System.out.printf("%-8s %-8s %17s %17s %17s %17s%n",
+                              matchup.first(), matchup.second(),
+                              percent(matchup.winRate(), matchup.winInterval()),
+                              percent(matchup.drawRate(), matchup.drawInterval()),
+                              percent(matchup.lossRate(), matchup.lossInterval()),
+                              percent(matchup.netScore(), matchup.netInterval()));
+        }
+
+        System.out.println();
+        System.out.println("Net score of row vs column, % per round:");
+        System.out.printf("%-8s", "");
+        for (Difficulty column : entrants) {
+            System.out.printf(" %17s", column);
+        }
+        System.out.println();
+        for (Difficulty row : entrants) {
+            System.out.printf("%-8s", row);
+            for (Difficulty column : entrants) {
+                MatchupResult matchup = result.get(row, column);
+                System.out.printf(" %17s", percent(matchup.netScore(), matchup.netInterval()));
+            }
+            System.out.println();
+        }
+
+        System.out.printf("Total: %,d rounds in %.1f s at %,.0f rounds/sec%n",
+                          result.rounds(), result.elapsedNanos() / 1e9, result.roundsPerSecond());
+    }
+
+    private static String percent(double rate, double interval) {
+        return String.format("%.2f +/-%.2f", rate * 100, interval * 100);
+    }
+}
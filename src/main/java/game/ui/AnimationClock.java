@@ -0,0 +1,131 @@
+package game.ui;
+
+import java.awt.DisplayMode;
+import java.awt.GraphicsEnvironment;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.swing.JComponent;
+import javax.swing.JRootPane;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+/**
+ * One frame clock shared by every animation in the UI.
+ * A single Swing timer ticks at the display refresh rate while at least one
+ * animation is running and stops as soon as the last one finishes, so an idle
+ * menu costs nothing. Animations receive the frame time and interpolate by
+ * elapsed time rather than counting ticks, so they run at the same speed
+ * however late a frame arrives. Components they mark dirty during a frame are
+ * merged into one rectangle per window and repainted together.
+ *
+ * Like the rest of Swing, it must only be used on the event dispatch thread.
+ */
+public final class AnimationClock {
+    /**
+     * A running animation, advanced once per frame.
+     */
+    public interface Animation {
+        /**
+         * @param nowNanos The frame time, from {@link System#nanoTime()}
+         * @return true while the animation wants more frames
+         */
+        boolean tick(long nowNanos);
+    }
+
+    private static final int DEFAULT_REFRESH_RATE = 60;
+    private static final AnimationClock INSTANCE = new AnimationClock();
+
+    private final Timer timer;
+    private final Set<Animation> animations = new LinkedHashSet<>();
+    private final List<Animation> frame = new ArrayList<>(); // Reused snapshot, so animations may start or stop others
+    private final Map<JRootPane, Rectangle> dirtyRegions = new IdentityHashMap<>();
+
+    private AnimationClock() {
+        timer = new Timer(1000 / refreshRate(), e -> tick());
+        timer.setCoalesce(true);
+    }
+
+    public static AnimationClock getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Starts driving {@code animation} from the next frame; does nothing if it is already running.
+     */
+    public void start(Animation animation) {
+        if (animations.add(animation) && !timer.isRunning()) {
+            timer.start();
+        }
+    }
+
+    public void stop(Animation animation) {
+        animations.remove(animation);
+        if (animations.isEmpty()) {
+            repaintDirtyRegions();
+            timer.stop();
+        }
+    }
+
+    public boolean isRunning(Animation animation) {
+        return animations.contains(animation);
+    }
+
+    /**
+     * Queues {@code component} for repainting at the end of the current frame.
+     * Outside a frame it is repainted as usual.
+     */
+    public void markDirty(JComponent component) {
+        JRootPane rootPane = component.getRootPane();
+        if (rootPane == null || !timer.isRunning()) {
+            component.repaint();
+            return;
+        }
+        Rectangle bounds = SwingUtilities.convertRectangle(
+            component, new Rectangle(0, 0, component.getWidth(), component.getHeight()), rootPane);
+        Rectangle dirty = dirtyRegions.get(rootPane);
+        if (dirty == null) {
+            dirtyRegions.put(rootPane, bounds);
+        } else {
+            dirty.add(bounds);
+        }
+    }
+
+    private void tick() {
+        long now = System.nanoTime();
+        frame.addAll(animations);
+        for (Animation animation : frame) {
+            if (animations.contains(animation) && !animation.tick(now)) {
+                animations.remove(animation);
+            }
+        }
+        frame.clear();
+
+        repaintDirtyRegions();
+
+        if (animations.isEmpty()) {
+            timer.stop();
+        }
+    }
+
+    private void repaintDirtyRegions() {
+        for (Map.Entry<JRootPane, Rectangle> entry : dirtyRegions.entrySet()) {
+            entry.getKey().repaint(entry.getValue());
+        }
+        dirtyRegions.clear();
+    }
+
+    static int refreshRate() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return DEFAULT_REFRESH_RATE;
+        }
+        DisplayMode mode = GraphicsEnvironment.getLocalGraphicsEnvironment()
+            .getDefaultScreenDevice().getDisplayMode();
+        int rate = mode.getRefreshRate();
+        return rate == DisplayMode.REFRESH_RATE_UNKNOWN ? DEFAULT_REFRESH_RATE : rate;
+    }
+}
@@ -0,0 +1,30 @@
+package game.ui;
+
+import game.util.BackgroundManager;
+import game.util.Histogram;
+import java.awt.Graphics;
+import java.awt.LayoutManager;
+import javax.swing.JPanel;
+
+/**
+ * Bottom layer of the game window: paints the cached background once for
+ * every screen stacked on top of it, which stay transparent.
+ * It declares itself opaque because the background covers every pixel, so when
+ * a button above it changes, Swing starts the repaint here, clipped to the
+ * button's rectangle, instead of at the window and across the whole screen.
+ */
+public class BackgroundPanel extends JPanel {
+    private static final Histogram PAINT_TIMES = UiMetrics.getInstance().paintTimes("BackgroundPanel");
+
+    public BackgroundPanel(LayoutManager layout) {
+        super(layout);
+        setOpaque(true);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        long start = System.nanoTime();
+        BackgroundManager.paintBackground(this, g);
+        PAINT_TIMES.recordSince(start);
+    }
+}
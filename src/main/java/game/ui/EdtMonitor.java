@@ -0,0 +1,80 @@
+package game.ui;
+
+import game.util.Histogram;
+import java.awt.EventQueue;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the event dispatch thread from a daemon thread of its own.
+ * Every {@link #SAMPLE_INTERVAL_MILLIS} it posts a probe and records how long
+ * the probe waited in the queue. A probe still waiting after the stall
+ * threshold means the event dispatch thread is stuck in one event, so its
+ * stack trace is captured, once per stall, while it is still stuck.
+ */
+final class EdtMonitor {
+    private static final long SAMPLE_INTERVAL_MILLIS = 100;
+
+    private final UiMetrics metrics;
+    private final Histogram latency;
+    private final long stallThresholdNanos;
+    private volatile Thread dispatchThread;
+
+    EdtMonitor(UiMetrics metrics, long stallThresholdNanos) {
+        this.metrics = metrics;
+        this.latency = metrics.edtLatencyHistogram();
+        this.stallThresholdNanos = stallThresholdNanos;
+    }
+
+    void start() {
+        Thread thread = new Thread(this::run, "edt-monitor");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                long posted = System.nanoTime();
+                CountDownLatch done = new CountDownLatch(1);
+                EventQueue.invokeLater(() -> {
+                    latency.recordSince(posted);
+                    dispatchThread = Thread.currentThread();
+                    done.countDown();
+                });
+                if (!done.await(stallThresholdNanos, TimeUnit.NANOSECONDS)) {
+                    reportStall(posted);
+                    done.await();
+                }
+                Thread.sleep(SAMPLE_INTERVAL_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void reportStall(long posted) {
+        Thread thread = dispatchThread != null ? dispatchThread : findDispatchThread();
+        StringBuilder trace = new StringBuilder();
+        trace.append(String.format("Event dispatch thread blocked for over %.0f ms",
+                                   (System.nanoTime() - posted) / 1e6));
+        if (thread != null) {
+            for (StackTraceElement element : thread.getStackTrace()) {
+                trace.append(System.lineSeparator()).append("\tat ").append(element);
+            }
+        }
+        System.err.println(trace);
+        metrics.recordStall(trace.toString());
+    }
+
+    // Only needed if the very first probe stalls, before the thread is known
+    private static Thread findDispatchThread() {
+        for (Map.Entry<Thread, StackTraceElement[]> entry : Thread.getAllStackTraces().entrySet()) {
+            if (entry.getKey().getName().startsWith("AWT-EventQueue")) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+}
@@ -1,17 +1,42 @@
 package game.ui;
 
 import game.util.Constants;
+import game.util.Histogram;
+import game.util.RenderQuality;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.geom.Rectangle2D;
 import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Custom button component with modern styling and hover effects.
+ * The hover glow fades in and out over {@link #GLOW_FADE_NANOS}, driven by the
+ * shared {@link AnimationClock} rather than a timer per button.
+ *
+ * Painting only blits pre-rendered images: the body in each state with its
+ * label already laid out, rebuilt when the size, colours, font or text change,
+ * and one glow frame per intensity step, shared by buttons that look alike.
+ * Images are rendered at the display scale so they stay sharp on HiDPI screens,
+ * and with the hints and glow rings of the {@link RenderGovernor}'s current
+ * level; without glow rings the fade is skipped altogether.
  */
 public class GameButton extends JButton {
+    private static final long GLOW_FADE_NANOS = 500_000_000L;
+    private static final int GLOW_STEPS = 16;
+    private static final int MAX_GLOW_FRAME_SETS = 32;
+    private static final int NORMAL = 0;
+    private static final int HOVER = 1;
+    private static final int PRESSED = 2;
+    private static final Histogram PAINT_TIMES = UiMetrics.getInstance().paintTimes("GameButton");
+
+    // Only touched on the event dispatch thread
+    private static final Map<GlowKey, BufferedImage[]> GLOW_FRAMES = new HashMap<>();
+
     private Color normalColor = Constants.PRIMARY_COLOR;
     private Color hoverColor = Constants.HOVER_COLOR;
     private Color pressedColor = Constants.PRESSED_COLOR;
@@ -20,7 +45,18 @@ public class GameButton extends JButton {
     private final int arcSize = 15;
     private boolean isAnimating = false;
     private float glowIntensity = 0.0f;
-    private Timer glowTimer;
+    private long lastGlowTick;
+    private final AnimationClock.Animation glowAnimation = this::tickGlow;
+
+    private GraphicsConfiguration displayConfiguration;
+    private double displayScale = 1.0;
+    private BufferedImage[] stateImages;
+    private int stateWidth;
+    private int stateHeight;
+    private double stateScale;
+    private RenderQuality stateQuality;
+    private GlowKey glowKey;
+    private BufferedImage[] glowFrames;
 
     public GameButton(String text) {
         super(text);
@@ -43,43 +79,68 @@ public class GameButton extends JButton {
         setFocusPainted(false);
         setOpaque(false);
 
-        setupGlowAnimation();
+        // The label is baked into the state images, so redraw them when it changes
+        addPropertyChangeListener(event -> {
+            switch (event.getPropertyName()) {
+                case "font", "foreground" -> stateImages = null;
+                case "text" -> {
+                    buttonText = getText();
+                    stateImages = null;
+                }
+                default -> {
+                }
+            }
+        });
+
         setupMouseListener();
     }
 
-    private void setupGlowAnimation() {
-        glowTimer = new Timer(50, e -> {
-            if (isAnimating) {
-                glowIntensity = Math.min(1.0f, glowIntensity + 0.1f);
-            } else {
-                glowIntensity = Math.max(0.0f, glowIntensity - 0.1f);
-            }
-            repaint();
+    private void startGlow(boolean fadeIn) {
+        isAnimating = fadeIn;
+        if (RenderGovernor.getInstance().getQuality().getGlowLayers() == 0) {
+            // Nothing to fade, so don't spend frames on it
+            glowIntensity = fadeIn ? 1.0f : 0.0f;
+            return;
+        }
+        AnimationClock clock = AnimationClock.getInstance();
+        if (!clock.isRunning(glowAnimation)) {
+            lastGlowTick = System.nanoTime();
+            clock.start(glowAnimation);
+        }
+    }
 
-            if ((!isAnimating && glowIntensity == 0.0f) || 
-                (isAnimating && glowIntensity == 1.0f)) {
-                glowTimer.stop();
-            }
-        });
+    // Moves the glow towards its target by the time elapsed since the last frame
+    private boolean tickGlow(long now) {
+        float step = (float) (now - lastGlowTick) / GLOW_FADE_NANOS;
+        lastGlowTick = now;
+        if (isAnimating) {
+            glowIntensity = Math.min(1.0f, glowIntensity + step);
+        } else {
+            glowIntensity = Math.max(0.0f, glowIntensity - step);
+        }
+        AnimationClock.getInstance().markDirty(this);
+        return isAnimating ? glowIntensity < 1.0f : glowIntensity > 0.0f;
+    }
+
+    @Override
+    public void removeNotify() {
+        // A button taken off screen mid-fade must not keep the clock running
+        AnimationClock.getInstance().stop(glowAnimation);
+        glowIntensity = isAnimating ? 1.0f : 0.0f;
+        super.removeNotify();
     }
 
     private void setupMouseListener() {
         addMouseListener(new MouseAdapter() {
             @Override
             public void mouseEntered(MouseEvent e) {
-                isAnimating = true;
-                if (!glowTimer.isRunning()) {
-                    glowTimer.start();
-                }
+                startGlow(true);
                 repaint();
             }
 
             @Override
             public void mouseExited(MouseEvent e) {
-                isAnimating = false;
-                if (!glowTimer.isRunning()) {
-                    glowTimer.start();
-                }
+                startGlow(false);
                 repaint();
             }
 
@@ -97,63 +158,161 @@ public class GameButton extends JButton {
 
     @Override
     protected void paintComponent(Graphics g) {
-        Graphics2D g2 = (Graphics2D) g.create();
-        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        long start = System.nanoTime();
+        paintButton(g);
+        PAINT_TIMES.recordSince(start);
+    }
 
+    private void paintButton(Graphics g) {
         int width = getWidth();
         int height = getHeight();
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        updateDisplayScale();
+        RenderQuality quality = RenderGovernor.getInstance().getQuality();
 
         // Draw glow effect
-        if (glowIntensity > 0) {
-            for (int i = 3; i > 0; i--) {
-                float alpha = (glowIntensity * 0.3f) / i;
-                g2.setColor(new Color(
-                    hoverColor.getRed() / 255f,
-                    hoverColor.getGreen() / 255f,
-                    hoverColor.getBlue() / 255f,
-                    alpha
-                ));
-                g2.fill(new RoundRectangle2D.Float(i, i, width - (2 * i), height - (2 * i), arcSize, arcSize));
-            }
+        int glowStep = Math.round(glowIntensity * GLOW_STEPS);
+        if (glowStep > 0 && quality.getGlowLayers() > 0) {
+            g.drawImage(getGlowFrames(width, height, quality.getGlowLayers())[glowStep - 1], 0, 0, width, height, null);
         }
 
-        // Draw button background
-        if (getModel().isPressed()) {
-            g2.setColor(pressedColor);
-        } else if (getModel().isRollover()) {
-            g2.setColor(hoverColor);
-        } else {
-            g2.setColor(normalColor);
+        // Draw button background and text
+        if (stateImages == null || stateWidth != width || stateHeight != height || stateScale != displayScale
+                || stateQuality != quality) {
+            renderStateImages(width, height, quality);
         }
-        g2.fill(new RoundRectangle2D.Float(0, 0, width, height, arcSize, arcSize));
+        int state = getModel().isPressed() ? PRESSED : getModel().isRollover() ? HOVER : NORMAL;
+        g.drawImage(stateImages[state], 0, 0, width, height, null);
 
-        // Draw icon and text
+        // Draw icon, with the label on top of it
         if (buttonIcon != null) {
             int iconWidth = buttonIcon.getIconWidth();
             int iconHeight = buttonIcon.getIconHeight();
             int x = (width - iconWidth) / 2;
             int y = (height - iconHeight) / 2;
-            buttonIcon.paintIcon(this, g2, x, y);
+            buttonIcon.paintIcon(this, g, x, y);
+
+            Graphics2D g2 = (Graphics2D) g.create();
+            quality.applyHints(g2);
+            drawLabel(g2, width, height);
+            g2.dispose();
+        }
+    }
+
+    // The display scale only changes when the button moves to another screen
+    private void updateDisplayScale() {
+        GraphicsConfiguration configuration = getGraphicsConfiguration();
+        if (configuration != displayConfiguration) {
+            displayConfiguration = configuration;
+            displayScale = configuration == null ? 1.0 : configuration.getDefaultTransform().getScaleX();
+        }
+    }
+
+    /**
+     * Renders the body in each state at the display scale, with the label laid
+     * out on top unless there is an icon, which has to go between the two.
+     */
+    private void renderStateImages(int width, int height, RenderQuality quality) {
+        Color[] colors = {normalColor, hoverColor, pressedColor};
+        stateImages = new BufferedImage[colors.length];
+        for (int state = 0; state < colors.length; state++) {
+            BufferedImage image = createFrame(width, height, displayScale);
+            Graphics2D g2 = createFrameGraphics(image, displayScale, quality);
+            g2.setColor(colors[state]);
+            g2.fill(new RoundRectangle2D.Float(0, 0, width, height, arcSize, arcSize));
+            if (buttonIcon == null) {
+                drawLabel(g2, width, height);
+            }
+            g2.dispose();
+            stateImages[state] = image;
+        }
+        stateWidth = width;
+        stateHeight = height;
+        stateScale = displayScale;
+        stateQuality = quality;
+    }
+
+    private void drawLabel(Graphics2D g2, int width, int height) {
+        if (buttonText == null || buttonText.isEmpty()) {
+            return;
         }
+        g2.setColor(getForeground());
+        g2.setFont(getFont());
+        FontMetrics fm = g2.getFontMetrics();
+        Rectangle2D r = fm.getStringBounds(buttonText, g2);
+        int x = (width - (int) r.getWidth()) / 2;
+        int y = (height - (int) r.getHeight()) / 2 + fm.getAscent();
+        g2.drawString(buttonText, x, y);
+    }
+
+    /**
+     * @return One glow image per intensity step, shared by every button of this size, colour, scale and ring count
+     */
+    private BufferedImage[] getGlowFrames(int width, int height, int layers) {
+        if (glowKey != null && glowKey.matches(width, height, hoverColor.getRGB(), displayScale, layers)) {
+            return glowFrames;
+        }
+        GlowKey key = new GlowKey(width, height, hoverColor.getRGB(), displayScale, layers);
+        BufferedImage[] frames = GLOW_FRAMES.get(key);
+        if (frames == null) {
+            if (GLOW_FRAMES.size() >= MAX_GLOW_FRAME_SETS) {
+                GLOW_FRAMES.clear();
+            }
+            frames = new BufferedImage[GLOW_STEPS];
+            for (int step = 1; step <= GLOW_STEPS; step++) {
+                float intensity = (float) step / GLOW_STEPS;
+                BufferedImage image = createFrame(width, height, displayScale);
+                Graphics2D g2 = createFrameGraphics(image, displayScale, RenderQuality.HIGH);
+                for (int i = layers; i > 0; i--) {
+                    float alpha = (intensity * 0.3f) / i;
+                    g2.setColor(new Color(
+                        hoverColor.getRed() / 255f,
+                        hoverColor.getGreen() / 255f,
+                        hoverColor.getBlue() / 255f,
+                        alpha
+                    ));
+                    g2.fill(new RoundRectangle2D.Float(i, i, width - (2 * i), height - (2 * i), arcSize, arcSize));
+                }
+                g2.dispose();
+                frames[step - 1] = image;
+            }
+            GLOW_FRAMES.put(key, frames);
+        }
+        glowKey = key;
+        glowFrames = frames;
+        return frames;
+    }
 
-        if (buttonText != null && !buttonText.isEmpty()) {
-            g2.setColor(getForeground());
-            g2.setFont(getFont());
-            FontMetrics fm = g2.getFontMetrics();
-            Rectangle2D r = fm.getStringBounds(buttonText, g2);
-            int x = (width - (int) r.getWidth()) / 2;
-            int y = (height - (int) r.getHeight()) / 2 + fm.getAscent();
-            g2.drawString(buttonText, x, y);
+    private BufferedImage createFrame(int width, int height, double scale) {
+        int pixelWidth = (int) Math.ceil(width * scale);
+        int pixelHeight = (int) Math.ceil(height * scale);
+        if (displayConfiguration != null) {
+            return displayConfiguration.createCompatibleImage(pixelWidth, pixelHeight, Transparency.TRANSLUCENT);
         }
+        return new BufferedImage(pixelWidth, pixelHeight, BufferedImage.TYPE_INT_ARGB_PRE);
+    }
 
-        g2.dispose();
+    private static Graphics2D createFrameGraphics(BufferedImage image, double scale, RenderQuality quality) {
+        Graphics2D g2 = image.createGraphics();
+        g2.scale(scale, scale);
+        quality.applyHints(g2);
+        return g2;
     }
 
     public void setButtonColors(Color normal, Color hover, Color pressed) {
         this.normalColor = normal;
         this.hoverColor = hover;
         this.pressedColor = pressed;
+        stateImages = null;
         repaint();
     }
+
+    private record GlowKey(int width, int height, int rgb, double scale, int layers) {
+        boolean matches(int width, int height, int rgb, double scale, int layers) {
+            return this.width == width && this.height == height && this.rgb == rgb && this.scale == scale
+                && this.layers == layers;
+        }
+    }
 }
@@ -1,5 +1,8 @@
 package game.ui;
 
+import game.model.RuleSet;
+import game.util.AudioMetrics;
+import game.util.BackgroundManager;
 import game.util.Constants;
 import game.util.SoundManager;
 import java.awt.*;
@@ -12,14 +15,21 @@ public class GameFrame extends JFrame {
     private MenuPanel menuPanel;
     private GamePanel gamePanel;
     private SoundManager soundManager;
+    private boolean translucent;
 
     private Point mouseOffset;
 
     public GameFrame() {
+        this(new SoundManager());
+    }
+
+    /**
+     * Builds the window around sounds that have already been loaded, e.g. by the startup {@code AssetLoader}.
+     */
+    public GameFrame(SoundManager soundManager) {
         try {
             System.out.println("Initializing GameFrame...");
-            soundManager = new SoundManager();
-            System.out.println("SoundManager initialized.");
+            this.soundManager = soundManager;
 
             initializeFrame();
             System.out.println("Frame initialized.");
@@ -30,6 +40,9 @@ public class GameFrame extends JFrame {
             setupLayout();
             System.out.println("Layout configured.");
 
+            setupMetrics();
+            System.out.println("UI metrics started.");
+
             playBackgroundMusic();
             System.out.println("Background music started.");
 
@@ -48,18 +61,49 @@ public class GameFrame extends JFrame {
         setMinimumSize(Constants.MIN_WINDOW_SIZE);
         setLocationRelativeTo(null);
 
-        // Enable transparency
-        setBackground(new Color(0, 0, 0, 0));
-        getRootPane().setOpaque(false);
+        // Enable transparency only where the platform composites it in hardware, and
+        // never under the heavyweight reveal canvas, which cannot be composited
+        translucent = Constants.PREFER_TRANSLUCENT_WINDOW && !RevealCanvas.isSupported()
+            && isTranslucencyAccelerated(getGraphicsConfiguration());
+        System.out.println("Window translucency: " + (translucent ? "on" : "off, using the opaque fast path"));
+        if (translucent) {
+            setBackground(new Color(0, 0, 0, 0));
+            getRootPane().setOpaque(false);
+        } else {
+            setBackground(Constants.BACKGROUND_COLOR);
+        }
+
+        if (Constants.ADAPTIVE_RENDER_QUALITY) {
+            RenderGovernor governor = RenderGovernor.getInstance();
+            governor.addListener(quality -> {
+                BackgroundManager.setQuality(quality);
+                repaint();
+            });
+            governor.install();
+        }
+    }
+
+    /**
+     * Per-pixel translucency makes the window system composite every repaint,
+     * which is only cheap when the device can do it in accelerated surfaces.
+     */
+    private static boolean isTranslucencyAccelerated(GraphicsConfiguration configuration) {
+        if (configuration == null) {
+            return false;
+        }
+        GraphicsDevice device = configuration.getDevice();
+        return device.isWindowTranslucencySupported(GraphicsDevice.WindowTranslucency.PERPIXEL_TRANSLUCENT)
+            && configuration.isTranslucencyCapable()
+            && configuration.getImageCapabilities().isAccelerated();
     }
 
     private void setupPanels() {
         // Create title bar panel with close button
         JPanel titleBar = createTitleBar();
         
+        // The background is one layer under both screens, so they only paint their components
         cardLayout = new CardLayout();
-        mainContainer = new JPanel(cardLayout);
-        mainContainer.setOpaque(false);
+        mainContainer = new BackgroundPanel(cardLayout);
 
         menuPanel = new MenuPanel(this);
         gamePanel = new GamePanel(this);
@@ -69,7 +113,8 @@ public class GameFrame extends JFrame {
 
         // Setup main content pane with title bar and game content
         JPanel contentPane = new JPanel(new BorderLayout());
-        contentPane.setOpaque(false);
+        contentPane.setOpaque(!translucent);
+        contentPane.setBackground(Constants.BACKGROUND_COLOR);
         
         // Add title bar at the top
         contentPane.add(titleBar, BorderLayout.NORTH);
@@ -81,9 +126,6 @@ public class GameFrame extends JFrame {
         contentPane.setBorder(BorderFactory.createLineBorder(new Color(50, 50, 50), 2));
         
         setContentPane(contentPane);
-
-        // Make the frame background transparent
-        setBackground(new Color(0, 0, 0, 0));
     }
 
     private void setupLayout() {
@@ -91,13 +133,19 @@ public class GameFrame extends JFrame {
         pack();
     }
 
+    private void setupMetrics() {
+        UiMetrics.getInstance().install();
+        AudioMetrics.getInstance().install();
+        MetricsOverlay.install(this, Constants.SHOW_METRICS_OVERLAY);
+    }
+
     public void switchToPanel(String panelName) {
         soundManager.playSound("click");
         cardLayout.show(mainContainer, panelName);
     }
 
-    public void startGame(String gameMode, String difficulty) {
-        gamePanel.resetGame(gameMode, difficulty);
+    public void startGame(String gameMode, String difficulty, RuleSet ruleSet) {
+        gamePanel.resetGame(gameMode, difficulty, ruleSet);
         switchToPanel("GAME");
     }
 
@@ -2,14 +2,19 @@ package game.ui;
 
 import game.model.Choice;
 import game.model.GameLogic;
-import game.util.BackgroundManager;
+import game.model.Outcome;
+import game.model.RuleSet;
 import game.util.Constants;
+import game.util.Histogram;
+import game.util.SpriteCache;
 import java.awt.*;
 import java.util.HashMap;
 import java.util.Map;
 import javax.swing.*;
 
 public class GamePanel extends JPanel {
+    private static final Histogram PAINT_TIMES = UiMetrics.getInstance().subtreePaintTimes("GamePanel");
+
     private final GameFrame parentFrame;
     private GameLogic gameLogic;
     private final JLabel player1ScoreLabel;
@@ -17,13 +22,14 @@ public class GamePanel extends JPanel {
     private final JLabel resultLabel;
     private final JPanel choicesPanel;
     private final Map<Choice, ImageIcon> gameImages;
-    private Timer animationTimer;
-    private Choice playerChoice;
-    private Choice computerChoice;
+    private final RevealCanvas revealCanvas; // Null when results are shown as plain labels
+    private RuleSet buttonRuleSet;
+    private int playerMove = -1;
+    private int computerMove = -1;
     private boolean isPVPMode = false;
     private boolean isPlayer1Turn = true;
-    private Choice player1Choice;
-    private Choice player2Choice;
+    private int player1Move = -1;
+    private int player2Move = -1;
 
     public GamePanel(GameFrame parent) {
         this.parentFrame = parent;
@@ -37,6 +43,7 @@ public class GamePanel extends JPanel {
         resultLabel = new JLabel("");
         choicesPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 20));
         choicesPanel.setOpaque(false);
+        revealCanvas = RevealCanvas.isSupported() ? new RevealCanvas() : null;
         
         setupComponents();
         loadImages();
@@ -74,7 +81,7 @@ public class GamePanel extends JPanel {
         JButton playAgainButton = createStyledButton("Play Again");
         playAgainButton.addActionListener(event -> {
             if (gameLogic != null) {
-                resetGame(gameLogic.getGameMode(), gameLogic.getDifficulty());
+                resetGame(gameLogic.getGameMode(), gameLogic.getDifficulty(), gameLogic.getRuleSet());
             }
         });
         
@@ -85,7 +92,7 @@ public class GamePanel extends JPanel {
         JPanel centerPanel = new JPanel();
         centerPanel.setLayout(new BoxLayout(centerPanel, BoxLayout.Y_AXIS));
         centerPanel.setOpaque(false);
-        centerPanel.add(resultLabel);
+        centerPanel.add(revealCanvas != null ? revealCanvas : resultLabel);
         centerPanel.add(Box.createRigidArea(new Dimension(0, 20))); // Add spacing
         centerPanel.add(choicesPanel);
         
@@ -118,48 +125,13 @@ public class GamePanel extends JPanel {
                 System.out.println("\nDebug: Attempting to load " + choice + " image:");
                 System.out.println("Debug: Image path: " + imagePath);
                   System.out.println("Loading image: " + imagePath);
-                var imageURL = getClass().getResource(imagePath);
-                if (imageURL == null) {
-                    throw new RuntimeException("Could not find image: " + imagePath);
-                }
-                ImageIcon originalIcon = new ImageIcon(imageURL);
-                Image originalImage = originalIcon.getImage();
-                if (originalImage.getWidth(null) == -1) {
-                    throw new RuntimeException("Failed to load image: " + imagePath);
-                }
+                // Prescaled once for every display scale and shared through the sprite cache
+                Image sprite = SpriteCache.getDefault().get(imagePath, Constants.CHOICE_IMAGE_SIZE);
                 System.out.println("Successfully loaded image: " + imagePath + 
-                                 " (" + originalImage.getWidth(null) + "x" + 
-                                 originalImage.getHeight(null) + ")");
-                
-                // Calculate scaled dimensions maintaining aspect ratio
-                int targetSize = 150;
-                int originalWidth = originalImage.getWidth(null);
-                int originalHeight = originalImage.getHeight(null);
-                
-                double scale = Math.min(
-                    (double) targetSize / originalWidth,
-                    (double) targetSize / originalHeight
-                );
-                
-                int scaledWidth = (int) (originalWidth * scale);
-                int scaledHeight = (int) (originalHeight * scale);
+                                 " (" + sprite.getWidth(null) + "x" + 
+                                 sprite.getHeight(null) + ")");
                 
-                // Scale the image with high quality
-                Image scaledImage = originalImage.getScaledInstance(
-                    scaledWidth, scaledHeight, 
-                    Image.SCALE_SMOOTH
-                );
-                
-                gameImages.put(choice, new ImageIcon(scaledImage));
-                
-                // Create and add button for this choice
-                JButton choiceButton = new JButton(new ImageIcon(scaledImage));
-                choiceButton.setBorderPainted(false);
-                choiceButton.setContentAreaFilled(false);
-                choiceButton.setFocusPainted(false);
-                choiceButton.setCursor(new Cursor(Cursor.HAND_CURSOR));
-                choiceButton.addActionListener(event -> makeChoice(choice));
-                choicesPanel.add(choiceButton);
+                gameImages.put(choice, new ImageIcon(sprite));
                 
             } catch (Exception e) {
                 System.err.println("Error loading image for " + choice + ": " + e.getMessage());
@@ -168,18 +140,69 @@ public class GamePanel extends JPanel {
         }
     }
     
+    /**
+     * Fills the choices panel with one button per move of the rule set: the
+     * picture buttons for the classic game, a grid of text buttons otherwise.
+     * Buttons are only rebuilt when the rule set changes.
+     */
+    private void buildChoiceButtons(RuleSet ruleSet) {
+        if (ruleSet == buttonRuleSet) {
+            return;
+        }
+        buttonRuleSet = ruleSet;
+        choicesPanel.removeAll();
+        
+        if (ruleSet.isClassic()) {
+            choicesPanel.setLayout(new FlowLayout(FlowLayout.CENTER, 20, 20));
+            for (Choice choice : Choice.values()) {
+                ImageIcon icon = gameImages.get(choice);
+                JButton choiceButton = icon != null ? new JButton(icon) : new GameButton(choice.getDisplayName());
+                if (icon != null) {
+                    choiceButton.setBorderPainted(false);
+                    choiceButton.setContentAreaFilled(false);
+                    choiceButton.setFocusPainted(false);
+                    choiceButton.setCursor(new Cursor(Cursor.HAND_CURSOR));
+                }
+                choiceButton.addActionListener(event -> makeChoice(choice.ordinal()));
+                choicesPanel.add(choiceButton);
+            }
+        } else {
+            // Roughly twice as many columns as rows keeps large variants on screen
+            int moveCount = ruleSet.getMoveCount();
+            int columns = Math.min(moveCount, (int) Math.ceil(Math.sqrt(2.0 * moveCount)));
+            choicesPanel.setLayout(new GridLayout(0, columns, 6, 6));
+            Font font = moveCount > 15 ? Constants.BUTTON_FONT.deriveFont(11f) : Constants.BUTTON_FONT;
+            for (int move = 0; move < moveCount; move++) {
+                int chosen = move;
+                GameButton choiceButton = new GameButton(ruleSet.getMoveName(move));
+                choiceButton.setFont(font);
+                choiceButton.addActionListener(event -> makeChoice(chosen));
+                choicesPanel.add(choiceButton);
+            }
+        }
+    }
+    
     public void resetGame(String gameMode, String difficulty) {
-        System.out.println("Resetting game with mode: " + gameMode + ", difficulty: " + difficulty);
+        resetGame(gameMode, difficulty, RuleSet.CLASSIC);
+    }
+    
+    public void resetGame(String gameMode, String difficulty, RuleSet ruleSet) {
+        System.out.println("Resetting game with mode: " + gameMode + ", difficulty: " + difficulty
+                           + ", rules: " + ruleSet);
         
-        // Initialize game state with selected mode and difficulty
-        gameLogic = new GameLogic(gameMode, difficulty);
-        playerChoice = null;
-        computerChoice = null;
+        // Initialize game state with selected mode, difficulty and rules
+        gameLogic = new GameLogic(gameMode, difficulty, ruleSet);
+        gameLogic.getSeed().ifPresent(seed -> System.out.println("Session seed: " + seed));
+        isPVPMode = Constants.MODE_PVP.equals(gameMode);
+        isPlayer1Turn = true;
+        playerMove = -1;
+        computerMove = -1;
+        buildChoiceButtons(ruleSet);
         
         // Reset UI elements
         player1ScoreLabel.setText("Player 1: 0");
-        player2ScoreLabel.setText("Computer: 0");
-        resultLabel.setText("Choose your move!");
+        player2ScoreLabel.setText(getOpponentName() + ": 0");
+        showMessage("Choose your move!");
         
         // Enable all choice buttons
         for (Component comp : choicesPanel.getComponents()) {
@@ -194,47 +217,49 @@ public class GamePanel extends JPanel {
         repaint();
     }
 
-    private void makeChoice(Choice choice) {
+    private void makeChoice(int move) {
         try {
-            System.out.println("Player chose: " + choice);
-            playerChoice = choice;
+            RuleSet ruleSet = gameLogic.getRuleSet();
+            System.out.println("Player chose: " + ruleSet.getMoveName(move));
+            playerMove = move;
             
-            if (gameLogic.getGameMode().equals("PVC")) {
+            if (!isPVPMode) {
                 // Computer opponent
-                computerChoice = gameLogic.getComputerChoice();
-                System.out.println("Computer chose: " + computerChoice);
+                computerMove = gameLogic.getComputerMove();
+                System.out.println("Computer chose: " + ruleSet.getMoveName(computerMove));
                 
                 // Play sound effect
                 parentFrame.getSoundManager().playSound("click");
                 
                 // Display the choices and determine winner
-                String result = gameLogic.determineWinner(playerChoice, computerChoice);
+                Outcome outcome = gameLogic.determineWinner(playerMove, computerMove);
+                String result = getResultText(outcome);
                 System.out.println("Result: " + result);
                 
                 // Update UI
-                resultLabel.setText(result);
-                if (result.contains("Win")) {
+                showResult(result, outcome, playerMove, computerMove);
+                if (outcome == Outcome.WIN) {
                     parentFrame.getSoundManager().playSound("win");
                     updateScores(1, 0);
-                } else if (result.contains("Lose")) {
+                } else if (outcome == Outcome.LOSE) {
                     parentFrame.getSoundManager().playSound("lose");
                     updateScores(0, 1);
                 }
             } else {
                 // PVP mode - wait for second player's choice
                 if (isPlayer1Turn) {
-                    player1Choice = choice;
-                    resultLabel.setText("Player 2, it's your turn!");
+                    player1Move = move;
+                    showMessage("Player 2, it's your turn!");
                 } else {
-                    player2Choice = choice;
+                    player2Move = move;
                     // Both players have made their choices, determine winner
-                    String result = gameLogic.determineWinner(player1Choice, player2Choice);
-                    resultLabel.setText("Result: " + result);
+                    Outcome outcome = gameLogic.determineWinner(player1Move, player2Move);
+                    showResult("Result: " + getResultText(outcome), outcome, player1Move, player2Move);
                     
                     // Update scores based on result
-                    if (result.equals("Player 1 Wins!")) {
+                    if (outcome == Outcome.WIN) {
                         updateScores(1, 0);
-                    } else if (result.equals("Player 2 Wins!")) {
+                    } else if (outcome == Outcome.LOSE) {
                         updateScores(0, 1);
                     }
                 }
@@ -247,6 +272,32 @@ public class GamePanel extends JPanel {
         }
     }
 
+    private void showMessage(String message) {
+        resultLabel.setText(message);
+        if (revealCanvas != null) {
+            revealCanvas.showMessage(message);
+        }
+    }
+
+    // Moves and outcome are from player 1's point of view, like the result text
+    private void showResult(String result, Outcome outcome, int move1, int move2) {
+        resultLabel.setText(result);
+        UiMetrics metrics = UiMetrics.getInstance();
+        if (revealCanvas != null) {
+            // The canvas times the click itself, once the reveal's first frame is on screen
+            revealCanvas.reveal(createHand(isPVPMode ? "Player 1" : "You", move1),
+                                createHand(getOpponentName(), move2), result, outcome, metrics.eventNanos());
+        } else {
+            metrics.recordClickToResult();
+        }
+    }
+
+    private RevealCanvas.Hand createHand(String player, int move) {
+        RuleSet ruleSet = gameLogic.getRuleSet();
+        ImageIcon icon = ruleSet.isClassic() ? gameImages.get(Choice.values()[move]) : null;
+        return new RevealCanvas.Hand(player, ruleSet.getMoveName(move), icon != null ? icon.getImage() : null);
+    }
+
     private void updateScores(int player1Score, int player2Score) {
         if (player1Score > 0) {
             int currentScore = Integer.parseInt(player1ScoreLabel.getText().split(": ")[1]);
@@ -254,8 +305,35 @@ public class GamePanel extends JPanel {
         }
         if (player2Score > 0) {
             int currentScore = Integer.parseInt(player2ScoreLabel.getText().split(": ")[1]);
-            player2ScoreLabel.setText("Computer: " + (currentScore + player2Score));
+            player2ScoreLabel.setText(getOpponentName() + ": " + (currentScore + player2Score));
+        }
+    }
+
+    // Outcomes are from player 1's point of view; display text is only built here
+    private String getResultText(Outcome outcome) {
+        if (isPVPMode) {
+            return switch (outcome) {
+                case WIN -> "Player 1 Wins!";
+                case LOSE -> "Player 2 Wins!";
+                case DRAW -> "Draw!";
+            };
         }
+        return switch (outcome) {
+            case WIN -> "You Win!";
+            case LOSE -> "You Lose!";
+            case DRAW -> "Draw!";
+        };
+    }
+
+    private String getOpponentName() {
+        return isPVPMode ? "Player 2" : "Computer";
+    }
+    
+    @Override
+    public void paint(Graphics g) {
+        long start = System.nanoTime();
+        super.paint(g);
+        PAINT_TIMES.recordSince(start);
     }
     
     private JButton createStyledButton(String text) {
@@ -288,10 +366,5 @@ public class GamePanel extends JPanel {
         
         return button;
     }
-    
-    @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        BackgroundManager.paintBackground(this, g);
-    }
+
 }
@@ -0,0 +1,52 @@
+package game.ui;
+
+import game.util.Constants;
+import java.awt.*;
+import javax.swing.*;
+
+/**
+ * Small undecorated window shown while the assets load in the background.
+ * It paints nothing but a title, a progress bar and the name of the last
+ * asset loaded, so it can appear before any image or sound has been decoded.
+ */
+public class LoadingSplash extends JWindow {
+    private final JProgressBar progressBar;
+    private final JLabel statusLabel;
+
+    public LoadingSplash() {
+        JPanel content = new JPanel(new BorderLayout(0, 15));
+        content.setBackground(Constants.BACKGROUND_COLOR);
+        content.setBorder(BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(new Color(50, 50, 50), 2),
+            BorderFactory.createEmptyBorder(30, 40, 30, 40)));
+
+        JLabel titleLabel = new JLabel(Constants.GAME_TITLE, SwingConstants.CENTER);
+        titleLabel.setFont(Constants.HEADING_FONT);
+        titleLabel.setForeground(Constants.TEXT_COLOR);
+
+        progressBar = new JProgressBar();
+        progressBar.setIndeterminate(true);
+        progressBar.setForeground(Constants.PRIMARY_COLOR);
+        progressBar.setPreferredSize(new Dimension(320, 12));
+
+        statusLabel = new JLabel("Loading...", SwingConstants.CENTER);
+        statusLabel.setForeground(new Color(180, 180, 180));
+
+        content.add(titleLabel, BorderLayout.NORTH);
+        content.add(progressBar, BorderLayout.CENTER);
+        content.add(statusLabel, BorderLayout.SOUTH);
+        setContentPane(content);
+        pack();
+        setLocationRelativeTo(null);
+    }
+
+    /**
+     * Shows how many assets have loaded. Call on the event dispatch thread.
+     */
+    public void setProgress(int completed, int total, String asset) {
+        progressBar.setIndeterminate(false);
+        progressBar.setMaximum(total);
+        progressBar.setValue(completed);
+        statusLabel.setText("Loaded " + asset.substring(asset.lastIndexOf('/') + 1));
+    }
+}
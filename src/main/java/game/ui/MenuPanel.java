@@ -1,17 +1,24 @@
 package game.ui;
 
-import game.util.BackgroundManager;
+import game.ai.Difficulty;
+import game.ai.StrategyRegistry;
+import game.model.RuleSet;
 import game.util.Constants;
+import game.util.Histogram;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import javax.swing.*;
 
 public class MenuPanel extends JPanel {
+    private static final Histogram PAINT_TIMES = UiMetrics.getInstance().subtreePaintTimes("MenuPanel");
+
     private final GameFrame parentFrame;
     private String selectedGameMode = "PVC"; // Default to PVC
     private String selectedDifficulty = "";
+    private RuleSet selectedRuleSet = RuleSet.CLASSIC;
     private final JPanel mainMenuPanel;
+    private JPanel difficultyPanel;
     private JButton startButton;
     private JButton pvcButton;
     private JButton pvpButton;
@@ -32,15 +39,18 @@ public class MenuPanel extends JPanel {
         
         // Create components
         JPanel gameModePanel = createGameModePanel();
-        JPanel difficultyPanel = createDifficultyPanel();
+        difficultyPanel = createDifficultyPanel();
+        JPanel rulesPanel = createRulesPanel();
         startButton = createStartButton();
         
         // Add components with spacing
         mainMenuPanel.add(Box.createVerticalGlue());
         mainMenuPanel.add(gameModePanel);
-        mainMenuPanel.add(Box.createRigidArea(new Dimension(0, 40)));
+        mainMenuPanel.add(Box.createRigidArea(new Dimension(0, 30)));
         mainMenuPanel.add(difficultyPanel);
-        mainMenuPanel.add(Box.createRigidArea(new Dimension(0, 40)));
+        mainMenuPanel.add(Box.createRigidArea(new Dimension(0, 30)));
+        mainMenuPanel.add(rulesPanel);
+        mainMenuPanel.add(Box.createRigidArea(new Dimension(0, 30)));
         mainMenuPanel.add(startButton);
         mainMenuPanel.add(Box.createVerticalGlue());
 
@@ -113,7 +123,7 @@ public class MenuPanel extends JPanel {
             boolean showDifficulty = value.equals("PVC");
             updateButtonSelection(pvcButton, value.equals("PVC"));
             updateButtonSelection(pvpButton, value.equals("PVP"));
-            mainMenuPanel.getComponent(2).setVisible(showDifficulty);
+            difficultyPanel.setVisible(showDifficulty);
             parentFrame.getSoundManager().playSound("click");
             updateStartButtonState();
         });
@@ -159,31 +169,95 @@ public class MenuPanel extends JPanel {
         panel.add(titleLabel);
         panel.add(Box.createRigidArea(new Dimension(0, 30)));
         
-        // Create button panel for difficulties
-        JPanel buttonPanel = new JPanel();
-        buttonPanel.setLayout(new BoxLayout(buttonPanel, BoxLayout.Y_AXIS));
+        // Create button panel for difficulties, one button per registered AI
+        JPanel buttonPanel = new JPanel(new GridLayout(0, 3, 15, 15));
         buttonPanel.setOpaque(false);
         buttonPanel.setAlignmentX(Component.CENTER_ALIGNMENT);
         
-        // Add difficulty buttons with spacing
-        JButton easyButton = createDifficultyButton("Easy", "EASY");
-        JButton mediumButton = createDifficultyButton("Medium", "MEDIUM");
-        JButton hardButton = createDifficultyButton("Hard", "HARD");
-        
-        buttonPanel.add(easyButton);
-        buttonPanel.add(Box.createRigidArea(new Dimension(0, 15)));
-        buttonPanel.add(mediumButton);
-        buttonPanel.add(Box.createRigidArea(new Dimension(0, 15)));
-        buttonPanel.add(hardButton);
+        for (Difficulty difficulty : StrategyRegistry.getRegisteredDifficulties()) {
+            buttonPanel.add(createDifficultyButton(difficulty.getDisplayName(), difficulty.name()));
+        }
+        buttonPanel.setMaximumSize(buttonPanel.getPreferredSize());
         
         panel.add(buttonPanel);
         
-        // Initially invisible
-        panel.setVisible(false);
+        // Only shown while playing against the computer
+        panel.setVisible(selectedGameMode.equals("PVC"));
         
         return panel;
     }
     
+    private JPanel createRulesPanel() {
+        JPanel panel = new JPanel();
+        panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
+        panel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        panel.setOpaque(false);
+        
+        JLabel titleLabel = new JLabel("SELECT RULES");
+        titleLabel.setFont(new Font("Arial", Font.BOLD, 32));
+        titleLabel.setForeground(new Color(255, 255, 255));
+        titleLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        
+        panel.add(titleLabel);
+        panel.add(Box.createRigidArea(new Dimension(0, 30)));
+        
+        // One button per built-in rule set, in a single row
+        JPanel buttonPanel = new JPanel(new GridLayout(1, 0, 15, 15));
+        buttonPanel.setOpaque(false);
+        buttonPanel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        
+        for (RuleSet ruleSet : RuleSet.getBuiltIns()) {
+            buttonPanel.add(createRuleSetButton(ruleSet));
+        }
+        buttonPanel.setMaximumSize(buttonPanel.getPreferredSize());
+        
+        panel.add(buttonPanel);
+        
+        return panel;
+    }
+    
+    private JButton createRuleSetButton(RuleSet ruleSet) {
+        JButton button = new JButton(ruleSet.getName());
+        button.setFont(Constants.BUTTON_FONT);
+        button.setForeground(Color.WHITE);
+        button.setBackground(ruleSet == selectedRuleSet ? new Color(0, 120, 215) : new Color(50, 50, 50));
+        button.setOpaque(true);
+        button.setBorderPainted(false);
+        button.setFocusPainted(false);
+        button.setPreferredSize(new Dimension(120, 40));
+        button.setMaximumSize(new Dimension(120, 40));
+        
+        button.addActionListener(e -> {
+            selectedRuleSet = ruleSet;
+            parentFrame.getSoundManager().playSound("click");
+            // Update button selection for all rule set buttons
+            for (Component comp : ((JPanel) button.getParent()).getComponents()) {
+                if (comp instanceof JButton jButton) {
+                    jButton.setBackground(new Color(50, 50, 50));
+                }
+            }
+            button.setBackground(new Color(0, 120, 215));
+        });
+        
+        button.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseEntered(MouseEvent e) {
+                if (ruleSet != selectedRuleSet) {
+                    button.setBackground(new Color(70, 70, 70));
+                }
+            }
+            
+            @Override
+            public void mouseExited(MouseEvent e) {
+                if (ruleSet != selectedRuleSet) {
+                    button.setBackground(new Color(50, 50, 50));
+                }
+            }
+        });
+        
+        return button;
+    }
+    
     private JButton createDifficultyButton(String text, String value) {
         JButton button = new JButton(text);
         button.setFont(Constants.BUTTON_FONT);
@@ -246,11 +320,11 @@ public class MenuPanel extends JPanel {
             if (!selectedGameMode.isEmpty()) {
                 // For PVP, we don't need difficulty
                 if (selectedGameMode.equals("PVP")) {
-                    parentFrame.startGame("PVP", "NONE");
+                    parentFrame.startGame("PVP", "NONE", selectedRuleSet);
                 } else {
                     // For PVC, we need a difficulty
                     if (!selectedDifficulty.isEmpty()) {
-                        parentFrame.startGame("PVC", selectedDifficulty);
+                        parentFrame.startGame("PVC", selectedDifficulty, selectedRuleSet);
                     }
                 }
             }
@@ -275,10 +349,11 @@ public class MenuPanel extends JPanel {
         
         return startButton;
     }
-    
+
     @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        BackgroundManager.paintBackground(this, g);
+    public void paint(Graphics g) {
+        long start = System.nanoTime();
+        super.paint(g);
+        PAINT_TIMES.recordSince(start);
     }
 }
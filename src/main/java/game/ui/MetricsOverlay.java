@@ -0,0 +1,110 @@
+package game.ui;
+
+import game.util.AudioMetrics;
+import game.util.Histogram;
+import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.swing.*;
+
+/**
+ * Small panel in the top-left corner of the window showing the {@link UiMetrics} and {@link AudioMetrics},
+ * refreshed twice a second while visible. F3 shows and hides it.
+ * It sits in the frame's layered pane, sized to its text, so it covers nothing
+ * else and never takes mouse events away from the game.
+ */
+final class MetricsOverlay extends JComponent {
+    private static final int REFRESH_MILLIS = 500;
+    private static final int PADDING = 8;
+    private static final Point LOCATION = new Point(10, 40); // Clear of the title bar
+    private static final Color PANEL_COLOR = new Color(0, 0, 0, 180);
+
+    private final Timer timer = new Timer(REFRESH_MILLIS, event -> refresh());
+    private final List<String> lines = new ArrayList<>();
+
+    private MetricsOverlay() {
+        setOpaque(false);
+        setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        setForeground(Color.WHITE);
+    }
+
+    static void install(JFrame frame, boolean visible) {
+        MetricsOverlay overlay = new MetricsOverlay();
+        frame.getLayeredPane().add(overlay, JLayeredPane.DRAG_LAYER);
+        overlay.setVisible(visible);
+
+        JRootPane rootPane = frame.getRootPane();
+        rootPane.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW)
+            .put(KeyStroke.getKeyStroke(KeyEvent.VK_F3, 0), "toggleMetrics");
+        rootPane.getActionMap().put("toggleMetrics", new AbstractAction() {
+            @Override
+            public void actionPerformed(java.awt.event.ActionEvent e) {
+                overlay.setVisible(!overlay.isVisible());
+            }
+        });
+    }
+
+    @Override
+    public void setVisible(boolean visible) {
+        super.setVisible(visible);
+        if (visible) {
+            refresh();
+            timer.start();
+        } else {
+            timer.stop();
+        }
+    }
+
+    private void refresh() {
+        UiMetrics metrics = UiMetrics.getInstance();
+        lines.clear();
+        lines.add("EDT latency  " + metrics.getEdtLatency());
+        lines.add("Click->result " + metrics.getClickToResult());
+        for (Map.Entry<String, Histogram.Snapshot> entry : metrics.getPaintTimes().entrySet()) {
+            lines.add(String.format("Paint %-17s %s", entry.getKey(), entry.getValue()));
+        }
+        lines.add("EDT stalls   " + metrics.getStallCount());
+        lines.add(String.format("Reveal frames %d  updates %d  skipped %d", metrics.getRevealFrames(),
+                                metrics.getRevealUpdates(), metrics.getRevealFramesSkipped()));
+
+        AudioMetrics audio = AudioMetrics.getInstance();
+        lines.add("Audio trigger " + audio.getTriggerLatency());
+        lines.add("Audio buffer  " + audio.getLineFill());
+        lines.add("Audio mix     " + audio.getMixTimes());
+        lines.add(String.format("Audio xruns line=%d stream=%d  voices %d (peak %d, %d stolen)",
+                                audio.getLineUnderruns(), audio.getStreamUnderruns(), audio.getActiveVoices(),
+                                audio.getPeakVoices(), audio.getVoiceSteals()));
+
+        FontMetrics fm = getFontMetrics(getFont());
+        int width = 0;
+        for (String line : lines) {
+            width = Math.max(width, fm.stringWidth(line));
+        }
+        Rectangle previous = getBounds();
+        setBounds(LOCATION.x, LOCATION.y, width + 2 * PADDING, lines.size() * fm.getHeight() + 2 * PADDING);
+        Container parent = getParent();
+        if (parent != null) {
+            // Repaint what the old text covered too, in case the panel shrank
+            Rectangle dirty = previous.union(getBounds());
+            parent.repaint(dirty.x, dirty.y, dirty.width, dirty.height);
+        }
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setColor(PANEL_COLOR);
+        g2.fillRoundRect(0, 0, getWidth(), getHeight(), 10, 10);
+        g2.setColor(getForeground());
+        g2.setFont(getFont());
+        FontMetrics fm = g2.getFontMetrics();
+        int y = PADDING + fm.getAscent();
+        for (String line : lines) {
+            g2.drawString(line, PADDING, y);
+            y += fm.getHeight();
+        }
+        g2.dispose();
+    }
+}
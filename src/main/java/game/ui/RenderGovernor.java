@@ -0,0 +1,124 @@
+package game.ui;
+
+import game.util.RenderQuality;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.swing.RepaintManager;
+
+/**
+ * Adapts rendering quality to the machine from measured paint times.
+ * Once installed, every Swing paint pass is timed. Passes are judged in windows
+ * of {@link #FRAMES_PER_WINDOW} against the frame time at the display refresh
+ * rate, using the median so a one-off cache rebuild does not count as a slow
+ * machine. A window whose median misses {@link #DOWNGRADE_SHARE} of the budget
+ * drops one level straight away; stepping back up takes several windows in a
+ * row under {@link #UPGRADE_SHARE}. That number doubles whenever a level that
+ * was just climbed to has to be given up again, so a machine on the edge
+ * settles on one level instead of flickering between two.
+ *
+ * Paint passes and listeners run on the event dispatch thread; the current
+ * quality may be read from any thread.
+ */
+public final class RenderGovernor {
+    /**
+     * Notified on the event dispatch thread when the quality level changes.
+     */
+    public interface QualityListener {
+        void qualityChanged(RenderQuality quality);
+    }
+
+    private static final int FRAMES_PER_WINDOW = 30;
+    private static final double DOWNGRADE_SHARE = 0.75;
+    private static final double UPGRADE_SHARE = 0.25;
+    private static final int MIN_UPGRADE_WINDOWS = 4;
+    private static final int MAX_UPGRADE_WINDOWS = 64;
+    private static final RenderGovernor INSTANCE = new RenderGovernor();
+
+    private final long frameBudgetNanos = 1_000_000_000L / AnimationClock.refreshRate();
+    private final List<QualityListener> listeners = new ArrayList<>();
+    private final long[] window = new long[FRAMES_PER_WINDOW];
+    private volatile RenderQuality quality = RenderQuality.HIGH;
+    private boolean installed;
+    private int windowFrames;
+    private int goodWindows;
+    private int upgradeWindows = MIN_UPGRADE_WINDOWS;
+    private int windowsSinceChange;
+    private boolean lastChangeUp;
+
+    private RenderGovernor() {
+    }
+
+    public static RenderGovernor getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Starts timing Swing's paint passes. Until then the quality stays at its best.
+     */
+    public void install() {
+        if (!installed) {
+            RepaintManager.setCurrentManager(new TimingRepaintManager());
+            installed = true;
+        }
+    }
+
+    public RenderQuality getQuality() {
+        return quality;
+    }
+
+    public void addListener(QualityListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Adds one paint pass to the current window and re-judges the quality when the window is full.
+     */
+    void recordFrame(long paintNanos) {
+        window[windowFrames++] = paintNanos;
+        if (windowFrames < FRAMES_PER_WINDOW) {
+            return;
+        }
+        windowFrames = 0;
+        Arrays.sort(window);
+        long median = window[FRAMES_PER_WINDOW / 2];
+        windowsSinceChange++;
+
+        if (median > frameBudgetNanos * DOWNGRADE_SHARE && quality != RenderQuality.LOW) {
+            // Giving up a level soon after climbing to it means the climb was premature
+            if (lastChangeUp && windowsSinceChange <= upgradeWindows) {
+                upgradeWindows = Math.min(MAX_UPGRADE_WINDOWS, upgradeWindows * 2);
+            } else {
+                upgradeWindows = MIN_UPGRADE_WINDOWS;
+            }
+            changeQuality(quality.lower(), false, median);
+        } else if (median < frameBudgetNanos * UPGRADE_SHARE && quality != RenderQuality.HIGH) {
+            if (++goodWindows >= upgradeWindows) {
+                changeQuality(quality.higher(), true, median);
+            }
+        } else {
+            goodWindows = 0;
+        }
+    }
+
+    private void changeQuality(RenderQuality next, boolean up, long median) {
+        System.out.printf("Render quality: %s -> %s (median paint %.2f ms, frame budget %.2f ms)%n",
+                          quality, next, median / 1e6, frameBudgetNanos / 1e6);
+        quality = next;
+        lastChangeUp = up;
+        goodWindows = 0;
+        windowsSinceChange = 0;
+        for (QualityListener listener : listeners) {
+            listener.qualityChanged(next);
+        }
+    }
+
+    private static final class TimingRepaintManager extends RepaintManager {
+        @Override
+        public void paintDirtyRegions() {
+            long start = System.nanoTime();
+            super.paintDirtyRegions();
+            INSTANCE.recordFrame(System.nanoTime() - start);
+        }
+    }
+}
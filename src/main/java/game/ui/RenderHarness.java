@@ -0,0 +1,283 @@
+package game.ui;
+
+import game.util.Histogram;
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.awt.image.ColorModel;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.util.function.Supplier;
+import javax.imageio.ImageIO;
+import javax.swing.JPanel;
+import javax.swing.RepaintManager;
+import javax.swing.SwingUtilities;
+
+/**
+ * Paints the menu and game screens off-screen, without a {@link GameFrame},
+ * to catch rendering regressions and slowdowns on machines with no display,
+ * such as CI runners. Each screen is laid out on a {@link BackgroundPanel} as
+ * in the window and painted into a {@link BufferedImage} at several window
+ * sizes and display scales. For each combination it reports the paint time
+ * per frame and the bytes allocated per frame on the painting thread, then
+ * compares the last frame with a golden image, writing the frame and a map of
+ * the differing pixels to {@value #DIFF_DIRECTORY} when they do not match.
+ *
+ * Golden images depend on the JDK and fonts installed. The ones in
+ * {@code render-golden/} are recorded on the CI image described in its README,
+ * and {@code mvn verify} checks against them. Exits with status 1 if an image
+ * differs or is missing, or if a frame's 90th percentile is over
+ * {@code maxP90Millis}, {@value #DEFAULT_MAX_P90_MILLIS} ms unless given.
+ *
+ * The screens are given the frame's graphics configuration, reporting the
+ * display scale as a HiDPI screen's does, so they take the paths they take on
+ * screen: the background is copied from its cached layer, and buttons draw
+ * their state images at the display scale rather than being scaled up.
+ *
+ * Usage: {@code RenderHarness [check|update] [goldenDir] [frames] [maxP90Millis]}
+ */
+public class RenderHarness {
+    private static final Dimension[] SIZES = {
+        new Dimension(800, 600), new Dimension(1280, 720), new Dimension(1920, 1080)
+    };
+    private static final double[] SCALES = {1.0, 1.5, 2.0};
+    private static final int WARMUP_FRAMES = 10;
+    private static final int CHANNEL_TOLERANCE = 8;        // Per channel, absorbs rounding in scaled drawing
+    private static final double MAX_DIFFERING_PIXELS = 0.001; // Fraction of the frame
+    private static final String DIFF_DIRECTORY = "render-diffs";
+    // Well above the cached paths' worst frame, well below a screen that re-renders its background
+    private static final double DEFAULT_MAX_P90_MILLIS = 50;
+
+    public static void main(String[] args) {
+        boolean update = args.length > 0 && args[0].equals("update");
+        File goldenDirectory = new File(args.length > 1 ? args[1] : "render-golden");
+        int frames = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        double maxP90Millis = args.length > 3 ? Double.parseDouble(args[3]) : DEFAULT_MAX_P90_MILLIS;
+
+        boolean[] failed = new boolean[1];
+        try {
+            // Swing components are only safe to build and paint on the event dispatch thread
+            SwingUtilities.invokeAndWait(() -> {
+                // Paint straight into each frame, as Swing would into its back buffer
+                RepaintManager.currentManager(null).setDoubleBufferingEnabled(false);
+                System.out.printf("%-6s %-10s %5s %9s %9s %9s %10s  %s%n",
+                                  "Screen", "Size", "Scale", "p50 ms", "p90 ms", "max ms", "KB/frame", "Golden");
+                failed[0] |= run("menu", () -> new MenuPanel(null), update, goldenDirectory, frames, maxP90Millis);
+                failed[0] |= run("game", () -> new GamePanel(null), update, goldenDirectory, frames, maxP90Millis);
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Harness interrupted");
+            failed[0] = true;
+        } catch (InvocationTargetException e) {
+            System.err.println("Error painting off screen:");
+            e.getCause().printStackTrace();
+            failed[0] = true;
+        }
+        if (failed[0]) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * @return Whether any size or scale of the screen failed
+     */
+    private static boolean run(String screen, Supplier<JPanel> factory, boolean update, File goldenDirectory,
+                               int frames, double maxP90Millis) {
+        JPanel panel = factory.get();
+        boolean failed = false;
+        for (Dimension size : SIZES) {
+            for (double scale : SCALES) {
+                BufferedImage frame = new BufferedImage((int) Math.ceil(size.width * scale),
+                                                        (int) Math.ceil(size.height * scale),
+                                                        BufferedImage.TYPE_INT_RGB);
+                // Stacked on the background as in the window's card layout. Adding the
+                // screen hands it the root's configuration, which it passes on to its children
+                GraphicsConfiguration configuration = scaledConfiguration(frame, scale);
+                BackgroundPanel root = new BackgroundPanel(new BorderLayout()) {
+                    @Override
+                    public GraphicsConfiguration getGraphicsConfiguration() {
+                        return configuration;
+                    }
+                };
+                root.add(panel, BorderLayout.CENTER);
+                root.setSize(size);
+                // Text measures differently at each scale, so drop the sizes cached at the last one
+                invalidateTree(root);
+                layOut(root);
+
+                Histogram paintTimes = new Histogram();
+                for (int i = 0; i < WARMUP_FRAMES; i++) {
+                    paint(root, frame, scale);
+                }
+                long allocatedBefore = allocatedBytes();
+                for (int i = 0; i < frames; i++) {
+                    long start = System.nanoTime();
+                    paint(root, frame, scale);
+                    paintTimes.recordSince(start);
+                }
+                long bytesPerFrame = (allocatedBytes() - allocatedBefore) / frames;
+
+                String name = String.format("%s-%dx%d@%.1fx", screen, size.width, size.height, scale);
+                String golden = update ? record(name, frame, goldenDirectory) : compare(name, frame, goldenDirectory);
+                Histogram.Snapshot snapshot = paintTimes.getSnapshot();
+                boolean slow = snapshot.getP90Millis() > maxP90Millis;
+                System.out.printf("%-6s %-10s %4.1fx %9.2f %9.2f %9.2f %10s  %s%s%n",
+                                  screen, size.width + "x" + size.height, scale,
+                                  snapshot.getP50Millis(), snapshot.getP90Millis(), snapshot.getMaxMillis(),
+                                  bytesPerFrame < 0 ? "n/a" : String.format("%.1f", bytesPerFrame / 1024.0),
+                                  golden, slow ? ", over budget" : "");
+                failed |= slow || !(golden.equals("ok") || golden.equals("updated"));
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * @return The frame's own configuration, but with {@code scale} as its default transform
+     */
+    private static GraphicsConfiguration scaledConfiguration(BufferedImage frame, double scale) {
+        Graphics2D g = frame.createGraphics();
+        GraphicsConfiguration base = g.getDeviceConfiguration();
+        g.dispose();
+        return new GraphicsConfiguration() {
+            @Override
+            public GraphicsDevice getDevice() {
+                return base.getDevice();
+            }
+
+            @Override
+            public ColorModel getColorModel() {
+                return base.getColorModel();
+            }
+
+            @Override
+            public ColorModel getColorModel(int transparency) {
+                return base.getColorModel(transparency);
+            }
+
+            @Override
+            public AffineTransform getDefaultTransform() {
+                return AffineTransform.getScaleInstance(scale, scale);
+            }
+
+            @Override
+            public AffineTransform getNormalizingTransform() {
+                return base.getNormalizingTransform();
+            }
+
+            @Override
+            public Rectangle getBounds() {
+                return base.getBounds();
+            }
+        };
+    }
+
+    private static void invalidateTree(Component component) {
+        component.invalidate();
+        if (component instanceof Container container) {
+            for (Component child : container.getComponents()) {
+                invalidateTree(child);
+            }
+        }
+    }
+
+    // Components that are not displayable are never validated for us
+    private static void layOut(Container container) {
+        container.doLayout();
+        for (Component child : container.getComponents()) {
+            if (child instanceof Container nested) {
+                layOut(nested);
+            }
+        }
+    }
+
+    private static void paint(JPanel root, BufferedImage frame, double scale) {
+        Graphics2D g = frame.createGraphics();
+        g.scale(scale, scale);
+        root.paint(g);
+        g.dispose();
+    }
+
+    /**
+     * @return Bytes allocated so far by the calling thread, or -1 if the JVM does not track them
+     */
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    private static String record(String name, BufferedImage frame, File goldenDirectory) {
+        try {
+            write(frame, new File(goldenDirectory, name + ".png"));
+            return "updated";
+        } catch (IOException e) {
+            System.err.println("Could not write golden image " + name + ": " + e.getMessage());
+            return "not written";
+        }
+    }
+
+    private static String compare(String name, BufferedImage frame, File goldenDirectory) {
+        File file = new File(goldenDirectory, name + ".png");
+        if (!file.isFile()) {
+            return "missing";
+        }
+        try {
+            BufferedImage golden = ImageIO.read(file);
+            if (golden == null || golden.getWidth() != frame.getWidth() || golden.getHeight() != frame.getHeight()) {
+                return "wrong size";
+            }
+            BufferedImage diff = new BufferedImage(frame.getWidth(), frame.getHeight(), BufferedImage.TYPE_INT_RGB);
+            long differing = 0;
+            for (int y = 0; y < frame.getHeight(); y++) {
+                for (int x = 0; x < frame.getWidth(); x++) {
+                    if (!matches(frame.getRGB(x, y), golden.getRGB(x, y))) {
+                        differing++;
+                        diff.setRGB(x, y, 0xff0000);
+                    }
+                }
+            }
+            double fraction = (double) differing / ((long) frame.getWidth() * frame.getHeight());
+            if (fraction <= MAX_DIFFERING_PIXELS) {
+                return "ok";
+            }
+            File diffDirectory = new File(DIFF_DIRECTORY);
+            write(frame, new File(diffDirectory, name + "-actual.png"));
+            write(diff, new File(diffDirectory, name + "-diff.png"));
+            return String.format("differs in %.2f%% of pixels", fraction * 100);
+        } catch (IOException e) {
+            System.err.println("Could not compare with golden image " + name + ": " + e.getMessage());
+            return "unreadable";
+        }
+    }
+
+    private static boolean matches(int rgb, int goldenRgb) {
+        for (int shift = 0; shift < 24; shift += 8) {
+            int difference = ((rgb >> shift) & 0xff) - ((goldenRgb >> shift) & 0xff);
+            if (Math.abs(difference) > CHANNEL_TOLERANCE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void write(BufferedImage image, File file) throws IOException {
+        File directory = file.getParentFile();
+        if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+        ImageIO.write(image, "png", file);
+    }
+}
@@ -0,0 +1,435 @@
+package game.ui;
+
+import game.model.Outcome;
+import game.util.BackgroundManager;
+import game.util.Constants;
+import game.util.RenderQuality;
+import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.HierarchyBoundsAdapter;
+import java.awt.event.HierarchyEvent;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.locks.LockSupport;
+import javax.swing.SwingUtilities;
+
+/**
+ * Actively rendered stage for the result of a round: both hands slide in, the
+ * result scales into place and the winner's point floats up.
+ *
+ * A dedicated thread draws straight into a page-flipped {@link BufferStrategy},
+ * so the animation never queues work on the event dispatch thread. The reveal
+ * advances in fixed steps of {@link #UPDATE_RATE} per second and frames are
+ * paced to the display refresh rate, interpolating between steps. When a frame
+ * runs late, the loop catches up with several steps before the next render,
+ * skipping frames rather than slowing the animation down. Between reveals the
+ * thread sleeps and only redraws when the scene changes or the window exposes it.
+ * Each finished reveal adds its frame, update and skip counts to {@link UiMetrics}.
+ *
+ * Being heavyweight, it needs an opaque window; see {@link #isSupported()}.
+ */
+public class RevealCanvas extends Canvas {
+    /**
+     * One side of the reveal: who played, what they played and, for the classic
+     * moves, its picture.
+     */
+    public record Hand(String player, String move, Image image) {
+    }
+
+    // clickNanos is when the click that led to the scene happened, or 0 if it is not timed
+    private record Scene(String message, Hand left, Hand right, Outcome outcome, long clickNanos) {
+        boolean isReveal() {
+            return left != null;
+        }
+    }
+
+    private record Backdrop(int panelWidth, int panelHeight, Rectangle area) {
+    }
+
+    private static final int UPDATE_RATE = 60;
+    private static final long UPDATE_NANOS = 1_000_000_000L / UPDATE_RATE;
+    private static final int MAX_UPDATES_PER_FRAME = 5; // Beyond this the lost time is dropped
+    private static final long SPIN_NANOS = 1_000_000L;   // Yield rather than park for the last millisecond
+
+    // Reveal timeline, in seconds
+    private static final double SLIDE_SECONDS = 0.4;
+    private static final double RESULT_START = 0.35;
+    private static final double RESULT_SECONDS = 0.3;
+    private static final double POINT_START = 0.5;
+    private static final double POINT_SECONDS = 0.8;
+    private static final int REVEAL_UPDATES = (int) Math.ceil((POINT_START + POINT_SECONDS) * UPDATE_RATE);
+
+    private static final int HEIGHT = 260;
+    private static final int HAND_SIZE = Constants.CHOICE_IMAGE_SIZE;
+    private static final int HAND_SPACING = 170;
+    private static final int HAND_TOP = 75;
+    private static final int TEXT_CENTER = 36;
+
+    private final Object lock = new Object();
+    private Scene nextScene;          // Guarded by lock
+    private boolean sceneChanged;     // Guarded by lock
+    private boolean redrawRequested;  // Guarded by lock
+    private boolean running;          // Guarded by lock
+    private volatile Backdrop backdrop;
+    private volatile BufferStrategy strategy;
+    private Thread renderThread;
+
+    // Only touched by the render thread
+    private Scene scene;
+    private boolean animating;
+    private Backdrop builtBackdrop;
+    private RenderQuality builtQuality;
+    private BufferedImage backdropImage;
+
+    public RevealCanvas() {
+        setPreferredSize(new Dimension(Constants.WINDOW_SIZE.width, HEIGHT));
+        setMinimumSize(new Dimension(0, HEIGHT));
+        setMaximumSize(new Dimension(Integer.MAX_VALUE, HEIGHT));
+
+        // The canvas covers part of the background, so it draws that part itself
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                updateBackdrop();
+            }
+
+            @Override
+            public void componentMoved(ComponentEvent e) {
+                updateBackdrop();
+            }
+        });
+        addHierarchyBoundsListener(new HierarchyBoundsAdapter() {
+            @Override
+            public void ancestorResized(HierarchyEvent e) {
+                updateBackdrop();
+            }
+        });
+    }
+
+    /**
+     * @return true if the game should use this canvas rather than plain labels
+     */
+    public static boolean isSupported() {
+        return Constants.ACTIVE_RENDERING && !GraphicsEnvironment.isHeadless();
+    }
+
+    /**
+     * Shows a message on its own, e.g. a prompt between rounds.
+     */
+    public void showMessage(String message) {
+        setScene(new Scene(message, null, null, null, 0));
+    }
+
+    /**
+     * Plays the reveal of a finished round. {@code outcome} is from the left hand's point of view.
+     * Once its first frame is on screen, the time since {@code clickNanos} is
+     * recorded as the round's click-to-result time in {@link UiMetrics}.
+     *
+     * @param clickNanos From {@link UiMetrics#eventNanos()} while the click was handled
+     */
+    public void reveal(Hand left, Hand right, String result, Outcome outcome, long clickNanos) {
+        setScene(new Scene(result, left, right, outcome, clickNanos));
+    }
+
+    private void setScene(Scene scene) {
+        synchronized (lock) {
+            nextScene = scene;
+            sceneChanged = true;
+            lock.notifyAll();
+        }
+    }
+
+    private void requestRedraw() {
+        synchronized (lock) {
+            redrawRequested = true;
+            lock.notifyAll();
+        }
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        strategy = createPageFlippedStrategy();
+        synchronized (lock) {
+            running = true;
+        }
+        renderThread = new Thread(this::renderLoop, "reveal-renderer");
+        renderThread.setDaemon(true);
+        renderThread.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        synchronized (lock) {
+            running = false;
+            lock.notifyAll();
+        }
+        try {
+            // The render thread never waits on the event dispatch thread, so this cannot deadlock
+            renderThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        renderThread = null;
+        strategy.dispose();
+        strategy = null;
+        super.removeNotify();
+    }
+
+    private BufferStrategy createPageFlippedStrategy() {
+        try {
+            createBufferStrategy(2, new BufferCapabilities(
+                new ImageCapabilities(true), new ImageCapabilities(true), BufferCapabilities.FlipContents.UNDEFINED));
+        } catch (AWTException e) {
+            // Not every pipeline can flip pages; the default strategy blits from an accelerated back buffer
+            createBufferStrategy(2);
+        }
+        return getBufferStrategy();
+    }
+
+    // Called for window exposes; the next frame comes from the render thread
+    @Override
+    public void paint(Graphics g) {
+        requestRedraw();
+    }
+
+    @Override
+    public void update(Graphics g) {
+        requestRedraw();
+    }
+
+    private void updateBackdrop() {
+        Container panel = SwingUtilities.getAncestorOfClass(BackgroundPanel.class, this);
+        Backdrop current = null;
+        if (panel != null && getParent() != null && getWidth() > 0 && getHeight() > 0) {
+            Rectangle area = SwingUtilities.convertRectangle(getParent(), getBounds(), panel);
+            current = new Backdrop(panel.getWidth(), panel.getHeight(), area);
+        }
+        if (current == null ? backdrop != null : !current.equals(backdrop)) {
+            backdrop = current;
+            requestRedraw();
+        }
+    }
+
+    private void renderLoop() {
+        long previous = 0;
+        long lag = 0;
+        long nextFrame = 0;
+        long frameNanos = 1_000_000_000L / Math.max(UPDATE_RATE, AnimationClock.refreshRate());
+        int updates = 0;
+        int frames = 0;
+        int skipped = 0;
+        boolean clickPending = false;
+
+        while (true) {
+            synchronized (lock) {
+                try {
+                    while (running && !sceneChanged && !redrawRequested && !animating) {
+                        lock.wait();
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (!running) {
+                    return;
+                }
+                if (sceneChanged) {
+                    scene = nextScene;
+                    sceneChanged = false;
+                    animating = scene.isReveal();
+                    clickPending = scene.clickNanos() != 0;
+                    previous = System.nanoTime();
+                    nextFrame = previous;
+                    lag = 0;
+                    updates = 0;
+                    frames = 0;
+                    skipped = 0;
+                }
+                redrawRequested = false;
+            }
+
+            long frameStart = System.nanoTime();
+            boolean finished = false;
+            if (animating) {
+                lag += frameStart - previous;
+                previous = frameStart;
+                int steps = 0;
+                while (lag >= UPDATE_NANOS && steps < MAX_UPDATES_PER_FRAME) {
+                    updates++;
+                    steps++;
+                    lag -= UPDATE_NANOS;
+                }
+                if (lag >= UPDATE_NANOS) {
+                    // Too far behind to catch up: drop the time rather than spiral
+                    lag = 0;
+                }
+                skipped += Math.max(0, steps - 1);
+                if (updates >= REVEAL_UPDATES) {
+                    updates = REVEAL_UPDATES;
+                    lag = 0;
+                    animating = false;
+                    finished = true;
+                }
+            }
+
+            boolean shown = render((updates + (double) lag / UPDATE_NANOS) / UPDATE_RATE);
+            frames++;
+            if (shown && clickPending) {
+                UiMetrics.getInstance().recordClickToResult(scene.clickNanos());
+                clickPending = false;
+            }
+
+            if (animating) {
+                nextFrame += frameNanos;
+                long now = System.nanoTime();
+                if (nextFrame < now) {
+                    // Late already; start pacing again from here instead of rushing to catch up
+                    nextFrame = now;
+                } else {
+                    sleepUntil(nextFrame);
+                }
+            } else if (finished) {
+                UiMetrics.getInstance().recordReveal(frames, updates, skipped);
+            }
+        }
+    }
+
+    private static void sleepUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            if (remaining > SPIN_NANOS) {
+                LockSupport.parkNanos(remaining - SPIN_NANOS);
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    /**
+     * @return Whether the frame reached the screen
+     */
+    private boolean render(double time) {
+        BufferStrategy current = strategy;
+        int width = getWidth();
+        int height = getHeight();
+        if (current == null || width <= 0 || height <= 0) {
+            return false;
+        }
+        updateBackdropImage();
+        try {
+            do {
+                do {
+                    Graphics2D g = (Graphics2D) current.getDrawGraphics();
+                    try {
+                        draw(g, width, height, time);
+                    } finally {
+                        g.dispose();
+                    }
+                } while (current.contentsRestored());
+                current.show();
+            } while (current.contentsLost());
+            Toolkit.getDefaultToolkit().sync();
+            return true;
+        } catch (IllegalStateException e) {
+            // The canvas left the screen mid-frame; removeNotify is about to stop this thread
+            return false;
+        }
+    }
+
+    private void updateBackdropImage() {
+        Backdrop current = backdrop;
+        RenderQuality quality = BackgroundManager.getQuality();
+        if (current != builtBackdrop || quality != builtQuality) {
+            builtBackdrop = current;
+            builtQuality = quality;
+            backdropImage = current == null ? null : BackgroundManager.renderArea(
+                current.panelWidth(), current.panelHeight(), current.area(), getGraphicsConfiguration());
+        }
+    }
+
+    private void draw(Graphics2D g, int width, int height, double time) {
+        if (backdropImage != null) {
+            g.drawImage(backdropImage, 0, 0, null);
+        } else {
+            g.setColor(Constants.BACKGROUND_COLOR);
+            g.fillRect(0, 0, width, height);
+        }
+        if (scene == null) {
+            return;
+        }
+        RenderGovernor.getInstance().getQuality().applyHints(g);
+
+        int centerX = width / 2;
+        if (!scene.isReveal()) {
+            drawText(g, scene.message(), Constants.TITLE_FONT, centerX, TEXT_CENTER, 1f, 1.0);
+            return;
+        }
+
+        // Hands slide in from the edges
+        double slide = easeOut(progress(time, 0, SLIDE_SECONDS));
+        int offset = (int) Math.round((1 - slide) * (centerX + HAND_SIZE));
+        drawHand(g, scene.left(), centerX - HAND_SPACING - offset);
+        drawHand(g, scene.right(), centerX + HAND_SPACING + offset);
+
+        // The result grows into place as it fades in
+        double result = easeOut(progress(time, RESULT_START, RESULT_SECONDS));
+        if (result > 0) {
+            drawText(g, scene.message(), Constants.TITLE_FONT, centerX, TEXT_CENTER, (float) result, 1.4 - 0.4 * result);
+        }
+
+        // The winner's point floats up and fades out
+        double point = progress(time, POINT_START, POINT_SECONDS);
+        if (point > 0 && point < 1 && scene.outcome() != Outcome.DRAW) {
+            int x = scene.outcome() == Outcome.WIN ? centerX - HAND_SPACING : centerX + HAND_SPACING;
+            int y = HAND_TOP + HAND_SIZE / 2 - (int) Math.round(easeOut(point) * HAND_SIZE / 2);
+            drawText(g, "+1", Constants.SCORE_FONT, x, y, (float) (1 - point), 1.0);
+        }
+    }
+
+    private void drawHand(Graphics2D g, Hand hand, int centerX) {
+        Image image = hand.image();
+        if (image != null) {
+            int imageWidth = image.getWidth(null);
+            int imageHeight = image.getHeight(null);
+            g.drawImage(image, centerX - imageWidth / 2, HAND_TOP + (HAND_SIZE - imageHeight) / 2, null);
+        } else {
+            // Moves without a picture get a card with their name, shrunk to fit
+            g.setColor(Constants.PRIMARY_COLOR);
+            g.fill(new RoundRectangle2D.Float(centerX - HAND_SIZE / 2f, HAND_TOP, HAND_SIZE, HAND_SIZE, 15, 15));
+            Font font = Constants.BUTTON_FONT;
+            int textWidth = g.getFontMetrics(font).stringWidth(hand.move());
+            if (textWidth > HAND_SIZE - 16) {
+                font = font.deriveFont(font.getSize2D() * (HAND_SIZE - 16) / textWidth);
+            }
+            drawText(g, hand.move(), font, centerX, HAND_TOP + HAND_SIZE / 2, 1f, 1.0);
+        }
+        drawText(g, hand.player(), Constants.BUTTON_FONT, centerX, HAND_TOP + HAND_SIZE + 18, 1f, 1.0);
+    }
+
+    /**
+     * Draws {@code text} centred on a point, faded by {@code alpha} and scaled about its centre.
+     */
+    private static void drawText(Graphics2D g, String text, Font font, int centerX, int centerY,
+                                 float alpha, double scale) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.translate(centerX, centerY);
+        g2.scale(scale, scale);
+        g2.setComposite(AlphaComposite.SrcOver.derive(Math.min(1f, alpha)));
+        g2.setColor(Constants.TEXT_COLOR);
+        g2.setFont(font);
+        FontMetrics fm = g2.getFontMetrics();
+        g2.drawString(text, -fm.stringWidth(text) / 2f, (fm.getAscent() - fm.getDescent()) / 2f);
+        g2.dispose();
+    }
+
+    private static double progress(double time, double start, double duration) {
+        return Math.max(0, Math.min(1, (time - start) / duration));
+    }
+
+    private static double easeOut(double t) {
+        double remaining = 1 - t;
+        return 1 - remaining * remaining * remaining;
+    }
+}
@@ -0,0 +1,189 @@
+package game.ui;
+
+import game.util.Constants;
+import game.util.Histogram;
+import java.awt.EventQueue;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.swing.SwingUtilities;
+
+/**
+ * Responsiveness figures for the UI, kept as histograms:
+ * how long events wait for the event dispatch thread, sampled by an
+ * {@link EdtMonitor}; how long each kind of component takes to paint; and how
+ * long it takes from clicking a move until its result is on screen.
+ * Component paint times cover {@code paintComponent} alone, so they can be
+ * compared and added up. The screens draw nothing of their own over the
+ * background, so they are instead timed around {@code paint}, children
+ * included, and reported separately as subtree times. Stalls of
+ * the event dispatch thread are counted and the last one's stack trace kept, as
+ * are the frames drawn, updates run and frames skipped by result reveals.
+ *
+ * {@link #install()} starts the monitor and exports the figures over JMX as
+ * {@value #OBJECT_NAME}; {@link MetricsOverlay} shows them in the window.
+ * Recording is lock-free and cheap enough to leave on.
+ */
+public final class UiMetrics implements UiMetricsMXBean {
+    public static final String OBJECT_NAME = "game:type=UiMetrics";
+    private static final UiMetrics INSTANCE = new UiMetrics();
+
+    private final Histogram edtLatency = new Histogram();
+    private final Histogram clickToResult = new Histogram();
+    private final Map<String, Histogram> paintTimes = new ConcurrentHashMap<>();
+    private final AtomicLong stallCount = new AtomicLong();
+    private volatile String lastStallTrace = "";
+    private final AtomicLong revealFrames = new AtomicLong();
+    private final AtomicLong revealUpdates = new AtomicLong();
+    private final AtomicLong revealFramesSkipped = new AtomicLong();
+    private boolean installed;
+
+    private UiMetrics() {
+    }
+
+    public static UiMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Starts watching the event dispatch thread and registers with the platform MBean server.
+     * Only the first call does anything.
+     */
+    public synchronized void install() {
+        if (installed) {
+            return;
+        }
+        installed = true;
+        new EdtMonitor(this, TimeUnit.MILLISECONDS.toNanos(Constants.EDT_STALL_THRESHOLD_MS)).start();
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+            System.out.println("UI metrics available over JMX as " + OBJECT_NAME);
+        } catch (JMException e) {
+            System.err.println("Could not register UI metrics with JMX: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param component Name the paint times are reported under
+     * @return The histogram for paints of {@code component}; look it up once and keep it
+     */
+    public Histogram paintTimes(String component) {
+        return paintTimes.computeIfAbsent(component, name -> new Histogram());
+    }
+
+    /**
+     * @param component Name of the container whose paints, children included, are timed
+     * @return The histogram reported as "{@code component} subtree"; look it up once and keep it
+     */
+    public Histogram subtreePaintTimes(String component) {
+        return paintTimes(component + " subtree");
+    }
+
+    /**
+     * @return When the input event being handled happened, on the {@link System#nanoTime()} clock.
+     *         Call on the event dispatch thread.
+     */
+    public long eventNanos() {
+        long now = System.currentTimeMillis();
+        long eventTime = EventQueue.getMostRecentEventTime();
+        long ageMillis = eventTime > 0 ? Math.max(0, now - eventTime) : 0;
+        return System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(ageMillis);
+    }
+
+    /**
+     * Times the input event being handled from when it happened until Swing has
+     * repainted. Call on the event dispatch thread, after changing what is shown.
+     */
+    public void recordClickToResult() {
+        long clickNanos = eventNanos();
+        // The repaints requested while handling the event are already queued, so this runs after them
+        SwingUtilities.invokeLater(() -> clickToResult.recordSince(clickNanos));
+    }
+
+    /**
+     * Records a click whose result has just been shown outside Swing's painting,
+     * such as by an actively rendered canvas. Safe from any thread.
+     *
+     * @param clickNanos From {@link #eventNanos()} while the click was handled
+     */
+    public void recordClickToResult(long clickNanos) {
+        clickToResult.recordSince(clickNanos);
+    }
+
+    /**
+     * Adds the counts of a finished reveal. Safe from any thread.
+     */
+    public void recordReveal(int frames, int updates, int skipped) {
+        revealFrames.addAndGet(frames);
+        revealUpdates.addAndGet(updates);
+        revealFramesSkipped.addAndGet(skipped);
+    }
+
+    Histogram edtLatencyHistogram() {
+        return edtLatency;
+    }
+
+    void recordStall(String trace) {
+        stallCount.incrementAndGet();
+        lastStallTrace = trace;
+    }
+
+    @Override
+    public Histogram.Snapshot getEdtLatency() {
+        return edtLatency.getSnapshot();
+    }
+
+    @Override
+    public Map<String, Histogram.Snapshot> getPaintTimes() {
+        Map<String, Histogram.Snapshot> snapshots = new TreeMap<>();
+        paintTimes.forEach((component, histogram) -> snapshots.put(component, histogram.getSnapshot()));
+        return snapshots;
+    }
+
+    @Override
+    public Histogram.Snapshot getClickToResult() {
+        return clickToResult.getSnapshot();
+    }
+
+    @Override
+    public long getStallCount() {
+        return stallCount.get();
+    }
+
+    @Override
+    public String getLastStallTrace() {
+        return lastStallTrace;
+    }
+
+    @Override
+    public long getRevealFrames() {
+        return revealFrames.get();
+    }
+
+    @Override
+    public long getRevealUpdates() {
+        return revealUpdates.get();
+    }
+
+    @Override
+    public long getRevealFramesSkipped() {
+        return revealFramesSkipped.get();
+    }
+
+    @Override
+    public void reset() {
+        edtLatency.reset();
+        clickToResult.reset();
+        paintTimes.values().forEach(Histogram::reset);
+        stallCount.set(0);
+        lastStallTrace = "";
+        revealFrames.set(0);
+        revealUpdates.set(0);
+        revealFramesSkipped.set(0);
+    }
+}
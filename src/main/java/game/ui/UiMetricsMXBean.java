@@ -0,0 +1,52 @@
+package game.ui;
+
+import game.util.Histogram;
+import java.util.Map;
+
+/**
+ * Management interface of {@link UiMetrics}, registered as {@value UiMetrics#OBJECT_NAME}.
+ * Times are in milliseconds.
+ */
+public interface UiMetricsMXBean {
+    /**
+     * @return How long events wait in the queue before the event dispatch thread runs them
+     */
+    Histogram.Snapshot getEdtLatency();
+
+    /**
+     * @return Paint times by component class; "subtree" entries include the children
+     */
+    Map<String, Histogram.Snapshot> getPaintTimes();
+
+    /**
+     * @return Time from a move being clicked until its result has been painted
+     */
+    Histogram.Snapshot getClickToResult();
+
+    /**
+     * @return How many times the event dispatch thread has been blocked past the stall threshold
+     */
+    long getStallCount();
+
+    /**
+     * @return Stack trace of the event dispatch thread during the last stall, or an empty string
+     */
+    String getLastStallTrace();
+
+    /**
+     * @return Frames drawn by result reveals
+     */
+    long getRevealFrames();
+
+    /**
+     * @return Fixed animation steps run by result reveals
+     */
+    long getRevealUpdates();
+
+    /**
+     * @return Frames result reveals skipped to catch up after running late
+     */
+    long getRevealFramesSkipped();
+
+    void reset();
+}
@@ -0,0 +1,81 @@
+package game.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import javax.swing.SwingUtilities;
+
+/**
+ * Decodes assets in parallel on background threads during startup.
+ * Each asset is submitted as a separate task; the listener hears about every
+ * finished task on the event dispatch thread, and {@link #whenAllDone()}
+ * completes once all of them have finished, successfully or not. A failed task
+ * only fails its own future, so one missing asset never blocks the rest.
+ */
+public class AssetLoader {
+    /**
+     * Notified on the event dispatch thread after each asset finishes loading.
+     */
+    public interface ProgressListener {
+        void progress(int completed, int total, String asset);
+    }
+
+    private final ExecutorService executor;
+    private final ProgressListener listener;
+    private final List<CompletableFuture<?>> tasks = new ArrayList<>();
+    private final AtomicInteger completed = new AtomicInteger();
+
+    public AssetLoader(ProgressListener listener) {
+        this(Runtime.getRuntime().availableProcessors(), listener);
+    }
+
+    public AssetLoader(int threads, ProgressListener listener) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "asset-loader-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.listener = listener;
+    }
+
+    /**
+     * Starts loading one asset. Submit every asset before calling {@link #whenAllDone()}.
+     *
+     * @param asset Name reported to the progress listener
+     * @param task Loads and returns the asset
+     * @return A future for the loaded asset
+     */
+    public synchronized <T> CompletableFuture<T> submit(String asset, Supplier<T> task) {
+        CompletableFuture<T> future = CompletableFuture.supplyAsync(task, executor);
+        tasks.add(future);
+        future.whenComplete((result, error) -> {
+            if (error != null) {
+                System.err.println("Error loading " + asset + ": " + error.getMessage());
+            }
+            int done = completed.incrementAndGet();
+            int total = getTotal();
+            SwingUtilities.invokeLater(() -> listener.progress(done, total, asset));
+        });
+        return future;
+    }
+
+    /**
+     * @return A future that completes once every submitted asset has finished
+     *         loading; the loader's threads are released at that point
+     */
+    public synchronized CompletableFuture<Void> whenAllDone() {
+        CompletableFuture<?>[] pending = tasks.toArray(new CompletableFuture<?>[0]);
+        return CompletableFuture.allOf(pending)
+            .handle((ignored, error) -> null)
+            .thenRun(executor::shutdown);
+    }
+
+    public synchronized int getTotal() {
+        return tasks.size();
+    }
+}
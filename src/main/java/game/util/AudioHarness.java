@@ -0,0 +1,169 @@
+package game.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Plays a scripted workload through an {@link AudioMixer} on a {@link NullSourceDataLine}
+ * and prints the {@link AudioMetrics}, so the audio path can be checked on a
+ * machine without a sound device, such as a CI runner.
+ * Effects are triggered at random intervals and in bursts bigger than the
+ * voice pool, the master gain changes twice a second and the music streams
+ * underneath. The audio thread is also stalled a few times by a stream that
+ * blocks, as a slow decoder or a long pause would, to show how starvation
+ * looks in the figures. The line's own count of the times it ran dry is
+ * printed next to what the mixer detected. Exits with status 1 if any sample
+ * reached full scale, which the mixer's limiter should prevent.
+ *
+ * Usage: {@code AudioHarness [seconds] [stalls] [stallMillis]}
+ */
+public class AudioHarness {
+    private static final long SEED = 42L;
+    private static final float MUSIC_GAIN = 0.5f;
+    private static final long BURST_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(2);
+    private static final long GAIN_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final int MIN_TRIGGER_GAP_MILLIS = 20;
+    private static final int MAX_TRIGGER_GAP_MILLIS = 120;
+
+    public static void main(String[] args) {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int stalls = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int stallMillis = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+
+        AudioMetrics metrics = AudioMetrics.getInstance();
+        metrics.reset();
+        List<short[]> effects = loadEffects();
+        NullSourceDataLine line = new NullSourceDataLine();
+        line.open(AudioMixer.FORMAT, Constants.AUDIO_BUFFER_FRAMES * AudioMixer.FORMAT.getFrameSize());
+
+        System.out.printf("Playing for %d s with %d stalls of %d ms on a null line of %d frames%n",
+                          seconds, stalls, stallMillis, Constants.AUDIO_BUFFER_FRAMES);
+        AudioMixer mixer = new AudioMixer(line);
+        PcmStream music = SoundManager.openMusic();
+        if (music != null) {
+            mixer.play(music, MUSIC_GAIN);
+        }
+        StallingStream staller = new StallingStream();
+        mixer.play(staller, 0f);
+
+        Random random = new Random(SEED);
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        long stallInterval = (end - start) / (stalls + 1);
+        long nextBurst = start + BURST_INTERVAL_NANOS;
+        long nextGainChange = start + GAIN_INTERVAL_NANOS;
+        long nextStall = start + stallInterval;
+        int stallsLeft = stalls;
+        try {
+            for (long now = start; now < end; now = System.nanoTime()) {
+                mixer.play(effects.get(random.nextInt(effects.size())), 1.0f, false);
+                if (now >= nextBurst) {
+                    for (int i = 0; i < Constants.AUDIO_VOICES + 4; i++) {
+                        mixer.play(effects.get(i % effects.size()), 1.0f, false);
+                    }
+                    nextBurst += BURST_INTERVAL_NANOS;
+                }
+                if (now >= nextGainChange) {
+                    mixer.setMasterGain(0.5f + random.nextFloat() / 2);
+                    nextGainChange += GAIN_INTERVAL_NANOS;
+                }
+                if (stallsLeft > 0 && now >= nextStall) {
+                    staller.stallNext(TimeUnit.MILLISECONDS.toNanos(stallMillis));
+                    stallsLeft--;
+                    nextStall += stallInterval;
+                }
+                Thread.sleep(MIN_TRIGGER_GAP_MILLIS + random.nextInt(MAX_TRIGGER_GAP_MILLIS - MIN_TRIGGER_GAP_MILLIS));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Harness interrupted");
+        } finally {
+            staller.close();
+            mixer.close();
+            if (music != null) {
+                music.close();
+            }
+        }
+        report(metrics, line);
+        if (line.getClippedSamples() > 0) {
+            System.out.println("FAIL: " + line.getClippedSamples() + " samples clipped at full scale");
+            System.exit(1);
+        }
+    }
+
+    private static void report(AudioMetrics metrics, NullSourceDataLine line) {
+        System.out.println("Trigger to first frame " + metrics.getTriggerLatency());
+        System.out.println("Line fill at write     " + metrics.getLineFill()
+                           + String.format(" (min %.2f ms)", metrics.getMinLineFillMillis()));
+        System.out.println("Mix time per chunk     " + metrics.getMixTimes());
+        System.out.println("Decode time            " + metrics.getDecodeTimes());
+        System.out.printf("Underruns              line %d (line saw %d, %.1f ms of silence), stream %d%n",
+                          metrics.getLineUnderruns(), line.getUnderruns(),
+                          line.getSilentFrames() * 1000 / AudioMixer.FORMAT.getFrameRate(),
+                          metrics.getStreamUnderruns());
+        System.out.printf("Voices                 peak %d of %d, %d stolen, %d dropped%n",
+                          metrics.getPeakVoices(), Constants.AUDIO_VOICES,
+                          metrics.getVoiceSteals(), metrics.getDroppedSounds());
+        System.out.printf("Output                 %d gain changes, %d samples limited, %d clipped, peak %.0f%%%n",
+                          metrics.getGainChanges(), metrics.getLimitedSamples(), line.getClippedSamples(),
+                          line.getPeakLevel() * 100);
+    }
+
+    // The game's effects, or a short tone when they are not on the classpath
+    private static List<short[]> loadEffects() {
+        List<short[]> effects = new ArrayList<>();
+        for (String path : new String[] {Constants.Assets.CLICK_SOUND, Constants.Assets.WIN_SOUND,
+                                         Constants.Assets.LOSE_SOUND}) {
+            short[] samples = SoundManager.decode(path);
+            if (samples != null) {
+                effects.add(samples);
+            }
+        }
+        if (effects.isEmpty()) {
+            System.out.println("No sound effects found, playing a test tone instead");
+            effects.add(tone(440, 100));
+        }
+        return effects;
+    }
+
+    private static short[] tone(double hertz, int millis) {
+        float rate = AudioMixer.FORMAT.getSampleRate();
+        int frames = (int) (rate * millis / 1000);
+        short[] samples = new short[frames * 2];
+        for (int frame = 0; frame < frames; frame++) {
+            short sample = (short) (Math.sin(2 * Math.PI * hertz * frame / rate) * Short.MAX_VALUE / 4);
+            samples[frame * 2] = sample;
+            samples[frame * 2 + 1] = sample;
+        }
+        return samples;
+    }
+
+    /**
+     * Silent stream whose next read blocks the audio thread for as long as asked.
+     */
+    private static final class StallingStream implements AudioMixer.Stream {
+        private volatile long stallNanos;
+        private volatile boolean closed;
+
+        void stallNext(long nanos) {
+            stallNanos = nanos;
+        }
+
+        void close() {
+            closed = true;
+        }
+
+        @Override
+        public int read(short[] target, int offset, int length) {
+            long nanos = stallNanos;
+            if (nanos > 0) {
+                stallNanos = 0;
+                LockSupport.parkNanos(nanos);
+            }
+            return closed ? -1 : 0;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package game.util;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Health of the audio pipeline, kept so that a glitch can be traced to its cause.
+ * The {@link AudioMixer} records how long triggered sounds take to reach the
+ * output, how full the output line is at each write and how long each chunk
+ * takes to mix, and counts the times the line ran dry, effects were cut short,
+ * the master gain stepped and the limiter had to compress the mix. {@link PcmStream} counts reads that found its
+ * read-ahead empty, and {@link PcmCache} times each decode.
+ *
+ * {@link #install()} exports the figures over JMX as {@value #OBJECT_NAME};
+ * the in-game metrics overlay shows them too. Recording is lock-free and
+ * allocates nothing, so it is safe on the audio thread and left on.
+ */
+public final class AudioMetrics implements AudioMetricsMXBean {
+    public static final String OBJECT_NAME = "game:type=AudioMetrics";
+    private static final AudioMetrics INSTANCE = new AudioMetrics();
+
+    private final Histogram triggerLatency = new Histogram();
+    private final Histogram lineFill = new Histogram();
+    private final Histogram mixTimes = new Histogram();
+    private final Histogram decodeTimes = new Histogram();
+    private final AtomicLong minLineFill = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong lineUnderruns = new AtomicLong();
+    private final AtomicLong streamUnderruns = new AtomicLong();
+    private final AtomicLong voiceSteals = new AtomicLong();
+    private final AtomicLong droppedSounds = new AtomicLong();
+    private final AtomicLong gainChanges = new AtomicLong();
+    private final AtomicLong limitedSamples = new AtomicLong();
+    private final AtomicInteger peakVoices = new AtomicInteger();
+    private volatile int activeVoices;
+    private boolean installed;
+
+    private AudioMetrics() {
+    }
+
+    public static AudioMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers with the platform MBean server. Only the first call does anything.
+     */
+    public synchronized void install() {
+        if (installed) {
+            return;
+        }
+        installed = true;
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+            System.out.println("Audio metrics available over JMX as " + OBJECT_NAME);
+        } catch (JMException e) {
+            System.err.println("Could not register audio metrics with JMX: " + e.getMessage());
+        }
+    }
+
+    void recordTriggerLatency(long nanos) {
+        triggerLatency.record(nanos);
+    }
+
+    void recordLineFill(long queuedNanos) {
+        lineFill.record(queuedNanos);
+        minLineFill.accumulateAndGet(queuedNanos, Math::min);
+    }
+
+    void recordMix(long startNanos) {
+        mixTimes.recordSince(startNanos);
+    }
+
+    void recordDecode(long startNanos) {
+        decodeTimes.recordSince(startNanos);
+    }
+
+    void lineUnderrun() {
+        lineUnderruns.incrementAndGet();
+    }
+
+    void streamUnderrun() {
+        streamUnderruns.incrementAndGet();
+    }
+
+    void voiceStolen() {
+        voiceSteals.incrementAndGet();
+    }
+
+    void soundDropped() {
+        droppedSounds.incrementAndGet();
+    }
+
+    void gainChanged() {
+        gainChanges.incrementAndGet();
+    }
+
+    void samplesLimited(int count) {
+        limitedSamples.addAndGet(count);
+    }
+
+    void voicesActive(int count) {
+        activeVoices = count;
+        if (count > peakVoices.get()) {
+            peakVoices.accumulateAndGet(count, Math::max);
+        }
+    }
+
+    @Override
+    public Histogram.Snapshot getTriggerLatency() {
+        return triggerLatency.getSnapshot();
+    }
+
+    @Override
+    public Histogram.Snapshot getLineFill() {
+        return lineFill.getSnapshot();
+    }
+
+    @Override
+    public double getMinLineFillMillis() {
+        long nanos = minLineFill.get();
+        return nanos == Long.MAX_VALUE ? 0 : nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public Histogram.Snapshot getMixTimes() {
+        return mixTimes.getSnapshot();
+    }
+
+    @Override
+    public Histogram.Snapshot getDecodeTimes() {
+        return decodeTimes.getSnapshot();
+    }
+
+    @Override
+    public long getLineUnderruns() {
+        return lineUnderruns.get();
+    }
+
+    @Override
+    public long getStreamUnderruns() {
+        return streamUnderruns.get();
+    }
+
+    @Override
+    public int getActiveVoices() {
+        return activeVoices;
+    }
+
+    @Override
+    public int getPeakVoices() {
+        return peakVoices.get();
+    }
+
+    @Override
+    public long getVoiceSteals() {
+        return voiceSteals.get();
+    }
+
+    @Override
+    public long getDroppedSounds() {
+        return droppedSounds.get();
+    }
+
+    @Override
+    public long getGainChanges() {
+        return gainChanges.get();
+    }
+
+    @Override
+    public long getLimitedSamples() {
+        return limitedSamples.get();
+    }
+
+    @Override
+    public void reset() {
+        triggerLatency.reset();
+        lineFill.reset();
+        mixTimes.reset();
+        decodeTimes.reset();
+        minLineFill.set(Long.MAX_VALUE);
+        lineUnderruns.set(0);
+        streamUnderruns.set(0);
+        voiceSteals.set(0);
+        droppedSounds.set(0);
+        gainChanges.set(0);
+        limitedSamples.set(0);
+        peakVoices.set(activeVoices);
+    }
+}
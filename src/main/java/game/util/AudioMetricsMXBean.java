@@ -0,0 +1,69 @@
+package game.util;
+
+/**
+ * Management interface of {@link AudioMetrics}, registered as {@value AudioMetrics#OBJECT_NAME}.
+ * Times are in milliseconds.
+ */
+public interface AudioMetricsMXBean {
+    /**
+     * @return Time from a sound being triggered until its first frame reaches the output,
+     *         estimated from how much audio was queued in the line ahead of it
+     */
+    Histogram.Snapshot getTriggerLatency();
+
+    /**
+     * @return Audio queued in the output line each time a chunk is written
+     */
+    Histogram.Snapshot getLineFill();
+
+    /**
+     * @return Least audio queued in the output line at any write, or 0 if nothing has been written
+     */
+    double getMinLineFillMillis();
+
+    /**
+     * @return Time taken to mix one chunk; a chunk taking longer than it plays starves the line
+     */
+    Histogram.Snapshot getMixTimes();
+
+    /**
+     * @return Time taken to decode each cached sound effect
+     */
+    Histogram.Snapshot getDecodeTimes();
+
+    /**
+     * @return How many times the output line ran dry and played silence
+     */
+    long getLineUnderruns();
+
+    /**
+     * @return How many times a streamed sound had not read far enough ahead to fill a chunk
+     */
+    long getStreamUnderruns();
+
+    int getActiveVoices();
+
+    int getPeakVoices();
+
+    /**
+     * @return Effects cut short to make way for a newly triggered one
+     */
+    long getVoiceSteals();
+
+    /**
+     * @return Sounds not played because every voice was busy with a loop or stream
+     */
+    long getDroppedSounds();
+
+    /**
+     * @return Changes of the master gain, each a step that may be heard as a click
+     */
+    long getGainChanges();
+
+    /**
+     * @return Output samples the limiter compressed because overlapping sounds were too loud together
+     */
+    long getLimitedSamples();
+
+    void reset();
+}
@@ -0,0 +1,323 @@
+package game.util;
+
+import java.util.Arrays;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+
+/**
+ * Software mixer that plays any number of overlapping sounds through a single
+ * {@link SourceDataLine}.
+ * Sounds are 16-bit PCM in {@link #FORMAT}, either decoded in memory or pulled
+ * from a {@link Stream} as they play. A dedicated audio
+ * thread sums the active voices, each with its own gain, into a preallocated
+ * buffer {@code Constants.AUDIO_CHUNK_FRAMES} at a time and writes the result
+ * to a line that only buffers a few chunks, so a sound is heard within a few
+ * milliseconds of being triggered. The line is fed silence while nothing plays,
+ * so it never drains and has to restart.
+ *
+ * Overlapping sounds can add up to more than 16 bits can hold, so the mix goes
+ * through a soft limiter: samples pass unchanged up to a knee and are bent
+ * smoothly towards a ceiling just under full scale above it, instead of
+ * being clamped flat, which is heard as harsh distortion.
+ *
+ * Voices come from a fixed pool; when every voice is busy, the effect that has
+ * been playing longest makes way. Triggering a sound allocates nothing.
+ *
+ * Every pass is recorded in {@link AudioMetrics}: the line's fill level just
+ * before each write, which is zero when the mix fell behind and the line ran
+ * dry, the time spent mixing, and for each newly started sound the delay until
+ * its first frame is heard, which is the wait for the next pass plus the audio
+ * already queued ahead of it.
+ */
+public final class AudioMixer {
+    /**
+     * Samples produced while playing, e.g. read from disk, rather than held in memory.
+     */
+    public interface Stream {
+        /**
+         * Copies up to {@code length} interleaved samples in {@link #FORMAT}.
+         * Called on the audio thread, so it must not block; returning fewer
+         * samples than asked for leaves the rest of the chunk silent.
+         *
+         * @return Samples copied, or -1 once the stream has ended
+         */
+        int read(short[] target, int offset, int length);
+    }
+
+    /** The format of the output line and of every sound played. */
+    public static final AudioFormat FORMAT = new AudioFormat(44100f, 16, 2, true, false);
+
+    private static final int CHANNELS = 2;
+    private static final int FRAME_BYTES = 4;
+    private static final float LIMIT_KNEE = 0.75f * Short.MAX_VALUE;    // Louder samples are compressed
+    private static final float LIMIT_CEILING = 0.98f * Short.MAX_VALUE; // Never reached, however loud the mix
+
+    private final SourceDataLine line;
+    private final Voice[] voices = new Voice[Constants.AUDIO_VOICES];
+    private final float[] mix = new float[Constants.AUDIO_CHUNK_FRAMES * CHANNELS];
+    private final byte[] output = new byte[Constants.AUDIO_CHUNK_FRAMES * FRAME_BYTES];
+    private final long[] triggered = new long[Constants.AUDIO_VOICES]; // Trigger times of voices started this pass
+    private final AudioMetrics metrics = AudioMetrics.getInstance();
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile float masterGain = 1.0f;
+    private long lastVoiceId; // Guarded by this
+
+    /**
+     * Mixes into {@code line}, which must already be open in {@link #FORMAT}.
+     */
+    public AudioMixer(SourceDataLine line) {
+        if (!line.getFormat().matches(FORMAT)) {
+            throw new IllegalArgumentException("Line format must be " + FORMAT + ": " + line.getFormat());
+        }
+        this.line = line;
+        for (int i = 0; i < voices.length; i++) {
+            voices[i] = new Voice();
+        }
+        thread = new Thread(this::run, "audio-mixer");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        line.start();
+        thread.start();
+    }
+
+    /**
+     * Opens the system's default output line with a buffer of {@code Constants.AUDIO_BUFFER_FRAMES}.
+     *
+     * @throws LineUnavailableException if there is no output line, e.g. on a machine without sound
+     */
+    public static AudioMixer open() throws LineUnavailableException {
+        SourceDataLine line;
+        try {
+            line = AudioSystem.getSourceDataLine(FORMAT);
+        } catch (IllegalArgumentException e) {
+            throw new LineUnavailableException(e.getMessage());
+        }
+        line.open(FORMAT, Constants.AUDIO_BUFFER_FRAMES * FRAME_BYTES);
+        System.out.printf("Audio line buffer: %.1f ms%n",
+                          line.getBufferSize() / (double) FRAME_BYTES / FORMAT.getFrameRate() * 1000);
+        return new AudioMixer(line);
+    }
+
+    /**
+     * Starts playing a sound from the next chunk.
+     *
+     * @param samples Interleaved samples in {@link #FORMAT}; must not be modified while playing
+     * @param gain Linear gain, 1 for the sound as recorded
+     * @param loop Whether to repeat until stopped; looping voices are never taken over
+     * @return An id for {@link #stop}, or 0 if every voice is busy with a loop
+     */
+    public synchronized long play(short[] samples, float gain, boolean loop) {
+        Voice chosen = null;
+        for (Voice voice : voices) {
+            if (!voice.active) {
+                chosen = voice;
+                break;
+            }
+            if (!voice.loop && voice.stream == null && (chosen == null || voice.id < chosen.id)) {
+                chosen = voice;
+            }
+        }
+        if (chosen == null) {
+            metrics.soundDropped();
+            return 0;
+        }
+        if (chosen.active) {
+            metrics.voiceStolen();
+        }
+        chosen.triggerNanos = System.nanoTime();
+        chosen.samples = samples;
+        chosen.position = 0;
+        chosen.gain = gain;
+        chosen.loop = loop;
+        chosen.id = ++lastVoiceId;
+        chosen.active = samples.length > 0;
+        return chosen.id;
+    }
+
+    /**
+     * Starts playing a stream from the next chunk. Streaming voices are never taken over.
+     *
+     * @param gain Linear gain, 1 for the sound as recorded
+     * @return An id for {@link #stop}, or 0 if every voice is busy with a loop or stream
+     */
+    public synchronized long play(Stream stream, float gain) {
+        for (Voice voice : voices) {
+            if (!voice.active) {
+                voice.stream = stream;
+                voice.triggerNanos = System.nanoTime();
+                voice.gain = gain;
+                voice.loop = false;
+                voice.id = ++lastVoiceId;
+                voice.active = true;
+                return voice.id;
+            }
+        }
+        metrics.soundDropped();
+        return 0;
+    }
+
+    /**
+     * Stops a sound started by {@code play}; does nothing if it has already finished.
+     * A stream is no longer read once this returns, so it may then be closed.
+     */
+    public synchronized void stop(long voiceId) {
+        for (Voice voice : voices) {
+            if (voice.active && voice.id == voiceId) {
+                voice.release();
+            }
+        }
+    }
+
+    public synchronized boolean isPlaying(long voiceId) {
+        for (Voice voice : voices) {
+            if (voice.active && voice.id == voiceId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sets the linear gain applied on top of every voice's own.
+     */
+    public void setMasterGain(float gain) {
+        if (gain != masterGain) {
+            metrics.gainChanged();
+        }
+        masterGain = gain;
+    }
+
+    /**
+     * Stops the audio thread and closes the line.
+     */
+    public void close() {
+        running = false;
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        line.stop();
+        line.close();
+    }
+
+    private void run() {
+        boolean written = false;
+        while (running) {
+            long start = System.nanoTime();
+            int started = mixChunk();
+            metrics.recordMix(start);
+
+            // Sampled just before writing, so a slow mix shows up as the line running dry
+            int queuedFrames = (line.getBufferSize() - line.available()) / FRAME_BYTES;
+            long queuedNanos = queuedFrames * 1_000_000_000L / (long) FORMAT.getFrameRate();
+            if (written && queuedFrames == 0) {
+                metrics.lineUnderrun();
+            }
+            metrics.recordLineFill(queuedNanos);
+            long heardNanos = System.nanoTime() + queuedNanos;
+            for (int i = 0; i < started; i++) {
+                metrics.recordTriggerLatency(heardNanos - triggered[i]);
+            }
+
+            // Blocks while the line's buffer is full, which paces the thread
+            line.write(output, 0, output.length);
+            written = true;
+        }
+    }
+
+    /**
+     * @return How many voices were mixed for the first time, with their trigger times in {@code triggered}
+     */
+    private int mixChunk() {
+        Arrays.fill(mix, 0f);
+        int started = 0;
+        synchronized (this) {
+            int active = 0;
+            for (Voice voice : voices) {
+                if (voice.active) {
+                    active++;
+                    if (voice.triggerNanos != 0) {
+                        triggered[started++] = voice.triggerNanos;
+                        voice.triggerNanos = 0;
+                    }
+                    voice.mixInto(mix);
+                }
+            }
+            metrics.voicesActive(active);
+        }
+        float gain = masterGain;
+        int limited = 0;
+        for (int i = 0, b = 0; i < mix.length; i++) {
+            float level = mix[i] * gain;
+            if (Math.abs(level) > LIMIT_KNEE) {
+                level = limit(level);
+                limited++;
+            }
+            int sample = Math.round(level);
+            output[b++] = (byte) sample;
+            output[b++] = (byte) (sample >> 8);
+        }
+        if (limited > 0) {
+            metrics.samplesLimited(limited);
+        }
+        return started;
+    }
+
+    // Continuous in level and slope at the knee, so the bend itself adds no click
+    private static float limit(float level) {
+        float range = LIMIT_CEILING - LIMIT_KNEE;
+        double over = (Math.abs(level) - LIMIT_KNEE) / range;
+        return Math.copySign(LIMIT_KNEE + range * (float) Math.tanh(over), level);
+    }
+
+    private static final class Voice {
+        private final short[] streamed = new short[Constants.AUDIO_CHUNK_FRAMES * CHANNELS];
+        private short[] samples;
+        private Stream stream;
+        private int position;
+        private float gain;
+        private boolean loop;
+        private boolean active;
+        private long id;
+        private long triggerNanos; // Zero once the voice has been mixed
+
+        void mixInto(float[] mix) {
+            if (stream != null) {
+                int count = stream.read(streamed, 0, mix.length);
+                if (count < 0) {
+                    release();
+                }
+                for (int i = 0; i < count; i++) {
+                    mix[i] += streamed[i] * gain;
+                }
+                return;
+            }
+            int filled = 0;
+            while (filled < mix.length) {
+                int count = Math.min(mix.length - filled, samples.length - position);
+                for (int i = 0; i < count; i++) {
+                    mix[filled + i] += samples[position + i] * gain;
+                }
+                filled += count;
+                position += count;
+                if (position == samples.length) {
+                    if (!loop) {
+                        release();
+                        return;
+                    }
+                    position = 0;
+                }
+            }
+        }
+
+        void release() {
+            active = false;
+            samples = null;
+            stream = null;
+        }
+    }
+}
@@ -3,65 +3,189 @@ package game.util;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
+import java.awt.image.VolatileImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
- * Manages the background image rendering for the game panels
+ * Manages the background image rendering for the game panels.
+ * Scaling the full-resolution image with quality hints is far too slow to do on
+ * every repaint, so the scaled image, with the readability overlay baked in, is
+ * rendered once per panel size into an accelerated {@link VolatileImage} and
+ * each repaint is a single blit. A layer is re-rendered when its surface is lost.
+ * The source image comes from the {@link ImageCache}, decoded only as large as
+ * the panel needs. At {@link RenderQuality#LOW} the image and its overlay give
+ * way to a flat fill.
  */
 public class BackgroundManager {
-    private static BufferedImage backgroundImage;
+    // Panel sizes whose layers are kept; the menu and game panels normally share one
+    private static final int MAX_CACHED_SIZES = 4;
+
+    private static volatile boolean backgroundUnavailable;
+    private static volatile RenderQuality quality = RenderQuality.HIGH;
     private static final Color fallbackColor = new Color(40, 44, 52);
+    private static final Color overlayColor = new Color(0, 0, 0, 150);
 
-    static {        try {
-            System.out.println("Loading background image: " + Constants.Assets.BACKGROUND_IMAGE);
-            var imageStream = BackgroundManager.class.getResourceAsStream(Constants.Assets.BACKGROUND_IMAGE);
-            if (imageStream == null) {
-                throw new RuntimeException("Could not find background image: " + Constants.Assets.BACKGROUND_IMAGE);
+    // Only touched on the event dispatch thread, so no locking is needed
+    private static final Map<Dimension, VolatileImage> layers =
+        new LinkedHashMap<>(MAX_CACHED_SIZES + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Dimension, VolatileImage> eldest) {
+                if (size() > MAX_CACHED_SIZES) {
+                    eldest.getValue().flush();
+                    return true;
+                }
+                return false;
             }
-            backgroundImage = ImageIO.read(imageStream);
-            if (backgroundImage == null) {
-                throw new RuntimeException("Failed to load background image: " + Constants.Assets.BACKGROUND_IMAGE);
+        };
+
+    public static void paintBackground(JPanel panel, Graphics g) {
+        int width = panel.getWidth();
+        int height = panel.getHeight();
+        if (backgroundUnavailable || width <= 0 || height <= 0) {
+            // Fallback to solid color if image loading failed
+            g.setColor(fallbackColor);
+            g.fillRect(0, 0, width, height);
+            return;
+        }
+
+        GraphicsConfiguration configuration = panel.getGraphicsConfiguration();
+        if (configuration == null) {
+            // Not on screen (e.g. painted offscreen), so there is no device to cache for
+            renderLayer((Graphics2D) g, width, height);
+            return;
+        }
+
+        Dimension size = new Dimension(width, height);
+        VolatileImage layer = layers.get(size);
+        do {
+            int status = layer == null ? VolatileImage.IMAGE_INCOMPATIBLE : layer.validate(configuration);
+            if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                if (layer != null) {
+                    layer.flush();
+                }
+                layer = configuration.createCompatibleVolatileImage(width, height, Transparency.OPAQUE);
+                layers.put(size, layer);
+                status = VolatileImage.IMAGE_RESTORED;
             }
-            System.out.println("Successfully loaded background image: " + Constants.Assets.BACKGROUND_IMAGE + 
-                             " (" + backgroundImage.getWidth() + "x" + backgroundImage.getHeight() + ")");
-        } catch (Exception e) {
+            if (status == VolatileImage.IMAGE_RESTORED) {
+                Graphics2D layerGraphics = layer.createGraphics();
+                renderLayer(layerGraphics, width, height);
+                layerGraphics.dispose();
+            }
+            g.drawImage(layer, 0, 0, null);
+        } while (layer.contentsLost());
+    }
+
+    /**
+     * @return The background decoded to cover at least {@code width x height}, or null if it cannot be loaded
+     */
+    private static BufferedImage loadBackground(int width, int height) {
+        try {
+            // Never ask for less than the window size, so every panel shares the decode preload() made
+            return ImageCache.getDefault().get(Constants.Assets.BACKGROUND_IMAGE,
+                                               Math.max(width, Constants.WINDOW_SIZE.width),
+                                               Math.max(height, Constants.WINDOW_SIZE.height));
+        } catch (RuntimeException e) {
+            // Only report once; later paints use the fallback colour straight away
             System.err.println("Could not load background image: " + e.getMessage());
             e.printStackTrace();
+            backgroundUnavailable = true;
+            return null;
         }
     }
 
-    public static void paintBackground(JPanel panel, Graphics g) {
-        if (backgroundImage != null) {
-            Graphics2D g2d = (Graphics2D) g.create();
-            
-            // Enable antialiasing for smoother rendering
-            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-
-            // Calculate scaling to fill the panel while maintaining aspect ratio
-            double scaleX = (double) panel.getWidth() / backgroundImage.getWidth();
-            double scaleY = (double) panel.getHeight() / backgroundImage.getHeight();
-            double scale = Math.max(scaleX, scaleY);
+    /**
+     * Renders the part of a {@code width x height} background that lies under {@code area},
+     * e.g. for a heavyweight component that has to paint its own backdrop.
+     * It touches no cached layers, so any thread may call it.
+     *
+     * @param configuration Device to make the image compatible with, or null
+     */
+    public static BufferedImage renderArea(int width, int height, Rectangle area, GraphicsConfiguration configuration) {
+        BufferedImage image = configuration != null
+            ? configuration.createCompatibleImage(area.width, area.height, Transparency.OPAQUE)
+            : new BufferedImage(area.width, area.height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.translate(-area.x, -area.y);
+        if (backgroundUnavailable) {
+            g.setColor(fallbackColor);
+            g.fillRect(0, 0, width, height);
+        } else {
+            renderLayer(g, width, height);
+        }
+        g.dispose();
+        return image;
+    }
 
-            int scaledWidth = (int) (backgroundImage.getWidth() * scale);
-            int scaledHeight = (int) (backgroundImage.getHeight() * scale);
+    /**
+     * Decodes the background into the image cache ahead of the first paint.
+     * Safe to call from any thread.
+     */
+    public static void preload() {
+        ImageCache.getDefault().get(Constants.Assets.BACKGROUND_IMAGE,
+                                    Constants.WINDOW_SIZE.width, Constants.WINDOW_SIZE.height);
+    }
 
-            // Center the image
-            int x = (panel.getWidth() - scaledWidth) / 2;
-            int y = (panel.getHeight() - scaledHeight) / 2;
+    public static RenderQuality getQuality() {
+        return quality;
+    }
 
-            // Draw the background
-            g2d.drawImage(backgroundImage, x, y, scaledWidth, scaledHeight, panel);
+    /**
+     * Re-renders the background at a new quality level from the next paint. Call on the event dispatch thread.
+     */
+    public static void setQuality(RenderQuality newQuality) {
+        if (newQuality != quality) {
+            quality = newQuality;
+            flushCache();
+        }
+    }
 
-            // Add a semi-transparent overlay for better text readability
-            g2d.setColor(new Color(0, 0, 0, 150));
-            g2d.fillRect(0, 0, panel.getWidth(), panel.getHeight());
+    /**
+     * Releases every cached layer, e.g. after the display configuration changes.
+     */
+    public static void flushCache() {
+        for (VolatileImage layer : layers.values()) {
+            layer.flush();
+        }
+        layers.clear();
+    }
 
-            g2d.dispose();
-        } else {
-            // Fallback to solid color if image loading failed
+    /**
+     * Draws the background scaled to cover {@code width x height}, centered, with the overlay on top.
+     */
+    private static void renderLayer(Graphics2D g, int width, int height) {
+        RenderQuality currentQuality = quality;
+        BufferedImage backgroundImage = currentQuality.showsBackgroundImage() ? loadBackground(width, height) : null;
+        if (backgroundImage == null) {
             g.setColor(fallbackColor);
-            g.fillRect(0, 0, panel.getWidth(), panel.getHeight());
+            g.fillRect(0, 0, width, height);
+            return;
         }
+        Graphics2D g2d = (Graphics2D) g.create();
+
+        // Scaling quality follows the governed level
+        currentQuality.applyHints(g2d);
+
+        // Calculate scaling to fill the panel while maintaining aspect ratio
+        double scaleX = (double) width / backgroundImage.getWidth();
+        double scaleY = (double) height / backgroundImage.getHeight();
+        double scale = Math.max(scaleX, scaleY);
+
+        int scaledWidth = (int) Math.ceil(backgroundImage.getWidth() * scale);
+        int scaledHeight = (int) Math.ceil(backgroundImage.getHeight() * scale);
+
+        // Center the image
+        int x = (width - scaledWidth) / 2;
+        int y = (height - scaledHeight) / 2;
+
+        // Draw the background
+        g2d.drawImage(backgroundImage, x, y, scaledWidth, scaledHeight, null);
+
+        // Add a semi-transparent overlay for better text readability
+        g2d.setColor(overlayColor);
+        g2d.fillRect(0, 0, width, height);
+
+        g2d.dispose();
     }
 }
@@ -12,6 +12,9 @@ public class Constants {
     public static final String GAME_TITLE = "Rock Paper Scissors";
     public static final Dimension WINDOW_SIZE = new Dimension(1024, 768);
     public static final Dimension MIN_WINDOW_SIZE = new Dimension(800, 600);
+    public static final boolean PREFER_TRANSLUCENT_WINDOW = true; // Falls back to opaque where unaccelerated
+    public static final boolean ACTIVE_RENDERING = true; // Animates round results on a page-flipped canvas
+    public static final boolean ADAPTIVE_RENDER_QUALITY = true; // Lowers rendering quality when painting is too slow
     
     // UI Colors
     public static final Color BACKGROUND_COLOR = new Color(40, 44, 52);
@@ -29,6 +32,7 @@ public class Constants {
     // Button Dimensions
     public static final Dimension MENU_BUTTON_SIZE = new Dimension(200, 50);
     public static final Dimension GAME_BUTTON_SIZE = new Dimension(160, 160);
+    public static final int CHOICE_IMAGE_SIZE = 150; // Longest side of the rock/paper/scissors pictures
     
     // Game Modes
     public static final String MODE_PVC = "PVC";
@@ -38,6 +42,30 @@ public class Constants {
     public static final String DIFFICULTY_EASY = "EASY";
     public static final String DIFFICULTY_MEDIUM = "MEDIUM";
     public static final String DIFFICULTY_HARD = "HARD";
+    public static final String DIFFICULTY_EXPERT = "EXPERT";
+    public static final String DIFFICULTY_MASTER = "MASTER";
+    public static final String DIFFICULTY_ORACLE = "ORACLE";
+    
+    // AI Configuration
+    public static final int MOVE_HISTORY_CAPACITY = 4096; // Player moves remembered per session
+    public static final int MARKOV_ORDER = 3;             // Longest move sequence the EXPERT AI learns
+    public static final double MARKOV_DECAY = 0.98;       // Weight kept by older observations each round
+    public static final double ENSEMBLE_SCORE_DECAY = 0.9; // Weight kept by past results of MASTER AI candidates
+    public static final int SUFFIX_INDEX_CAPACITY = 1 << 16; // Moves indexed by the history matcher before it trims
+    public static final String RANDOM_ALGORITHM = "SplittableRandom"; // Splittable generator behind the computer's moves
+    
+    // Memory Configuration
+    public static final long IMAGE_CACHE_BUDGET_BYTES = 32L << 20; // Decoded image pixels kept in memory
+    
+    // Audio Configuration
+    public static final int AUDIO_CHUNK_FRAMES = 128;  // Frames mixed per pass, about 3 ms
+    public static final int AUDIO_BUFFER_FRAMES = 512; // Output line buffer, about 12 ms
+    public static final int AUDIO_VOICES = 16;         // Sounds that can play at once
+    public static final int AUDIO_READ_AHEAD_FRAMES = 1 << 15; // Streamed music decoded ahead, about 0.7 s; a power of two
+    
+    // Diagnostics
+    public static final long EDT_STALL_THRESHOLD_MS = 250; // Event dispatch blocked this long counts as a stall
+    public static final boolean SHOW_METRICS_OVERLAY = false; // F3 toggles it in game
     
     // Asset Paths
     public static class Assets {
@@ -46,6 +74,20 @@ public class Constants {
         public static final String PAPER_IMAGE = "/assets/paper.png";
         public static final String SCISSORS_IMAGE = "/assets/scissors.png";
         public static final String BACKGROUND_IMAGE = "/assets/bg.png";
+        
+        // Sounds
+        public static final String CLICK_SOUND = "/assets/click.wav";
+        public static final String WIN_SOUND = "/assets/win.wav";
+        public static final String LOSE_SOUND = "/assets/lose.wav";
+        public static final String BACKGROUND_MUSIC = "/assets/background.wav";
+        
+        // Rule set variants offered alongside the classic game
+        public static final String[] RULE_SETS = {
+            "/rules/rpsls.rules",
+            "/rules/rps7.rules",
+            "/rules/rps15.rules",
+            "/rules/rps101.rules"
+        };
     }
     
     // Private constructor to prevent instantiation
@@ -0,0 +1,223 @@
+package game.util;
+
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+/**
+ * Shared cache of decoded image resources with a heap budget.
+ * Images are decoded straight to roughly the size they will be shown at by
+ * letting the reader skip pixels ({@link ImageReadParam#setSourceSubsampling}),
+ * so a 5500 x 3724 background shown in a 1024 x 768 window never exists in
+ * memory at full resolution. Entries are kept in least-recently-used order and
+ * evicted once the decoded pixels exceed the budget; each entry is also held
+ * through a {@link SoftReference} so the garbage collector can reclaim it
+ * under memory pressure before the budget is reached.
+ *
+ * All methods are thread-safe. Decoding happens outside the lock, so two
+ * threads missing on the same image at once may both decode it.
+ */
+public final class ImageCache {
+    private static final ImageCache DEFAULT = new ImageCache(Constants.IMAGE_CACHE_BUDGET_BYTES);
+
+    private final long budgetBytes;
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Dimension> sourceSizes = new HashMap<>();
+    private final ReferenceQueue<BufferedImage> cleared = new ReferenceQueue<>();
+    private long bytesHeld;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param budgetBytes Most bytes of decoded pixels to keep
+     */
+    public ImageCache(long budgetBytes) {
+        if (budgetBytes <= 0) {
+            throw new IllegalArgumentException("budgetBytes must be positive: " + budgetBytes);
+        }
+        this.budgetBytes = budgetBytes;
+    }
+
+    /**
+     * @return The cache shared by the whole game, with a budget of {@code Constants.IMAGE_CACHE_BUDGET_BYTES}
+     */
+    public static ImageCache getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns an image resource decoded at the coarsest subsampling that still
+     * covers {@code minWidth x minHeight}, or at full size if it is smaller.
+     * Callers scale the result the rest of the way and must not modify it.
+     *
+     * @param resourcePath Class path of the image
+     * @param minWidth Smallest acceptable width, or 0 for the full image
+     * @param minHeight Smallest acceptable height, or 0 for the full image
+     * @throws IllegalArgumentException if the resource is missing or not an image
+     * @throws UncheckedIOException if the resource cannot be read
+     */
+    public BufferedImage get(String resourcePath, int minWidth, int minHeight) {
+        synchronized (this) {
+            purgeCleared();
+            Dimension sourceSize = sourceSizes.get(resourcePath);
+            if (sourceSize != null) {
+                Entry entry = entries.get(new Key(resourcePath, subsampling(sourceSize, minWidth, minHeight)));
+                BufferedImage image = entry == null ? null : entry.get();
+                if (image != null) {
+                    hits++;
+                    return image;
+                }
+            }
+            misses++;
+        }
+
+        Dimension sourceSize = new Dimension();
+        int[] factor = new int[1];
+        BufferedImage image = decode(resourcePath, minWidth, minHeight, sourceSize, factor);
+
+        synchronized (this) {
+            sourceSizes.put(resourcePath, sourceSize);
+            Key key = new Key(resourcePath, factor[0]);
+            Entry previous = entries.put(key, new Entry(key, image, sizeOf(image), cleared));
+            if (previous != null) {
+                bytesHeld -= previous.bytes;
+                previous.clear();
+            }
+            bytesHeld += sizeOf(image);
+            evictOverBudget(key);
+        }
+        return image;
+    }
+
+    /**
+     * Drops every cached image.
+     */
+    public synchronized void clear() {
+        for (Entry entry : entries.values()) {
+            entry.clear();
+        }
+        entries.clear();
+        bytesHeld = 0;
+    }
+
+    public synchronized Stats getStats() {
+        purgeCleared();
+        return new Stats(hits, misses, evictions, entries.size(), bytesHeld, budgetBytes);
+    }
+
+    /**
+     * Hit and miss counts since the cache was created, and its current contents.
+     */
+    public record Stats(long hits, long misses, long evictions, int entries, long bytesHeld, long budgetBytes) {
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d entries, %.1f of %.1f MB, %d hits, %d misses (%.0f%%), %d evictions",
+                                 entries, bytesHeld / 1048576.0, budgetBytes / 1048576.0,
+                                 hits, misses, hitRate() * 100, evictions);
+        }
+    }
+
+    private static BufferedImage decode(String resourcePath, int minWidth, int minHeight,
+                                        Dimension sourceSize, int[] factor) {
+        InputStream stream = ImageCache.class.getResourceAsStream(resourcePath);
+        if (stream == null) {
+            throw new IllegalArgumentException("Could not find image: " + resourcePath);
+        }
+        try (stream; ImageInputStream input = ImageIO.createImageInputStream(stream)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IllegalArgumentException("Not a readable image: " + resourcePath);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                sourceSize.setSize(reader.getWidth(0), reader.getHeight(0));
+                factor[0] = subsampling(sourceSize, minWidth, minHeight);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(factor[0], factor[0], 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load image: " + resourcePath, e);
+        }
+    }
+
+    /**
+     * @return The largest whole-pixel step that keeps both dimensions at or above the minimum
+     */
+    private static int subsampling(Dimension sourceSize, int minWidth, int minHeight) {
+        if (minWidth <= 0 || minHeight <= 0) {
+            return 1;
+        }
+        return Math.max(1, Math.min(sourceSize.width / minWidth, sourceSize.height / minHeight));
+    }
+
+    private static long sizeOf(BufferedImage image) {
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        return (long) buffer.getSize() * buffer.getNumBanks() * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+    }
+
+    // Evicts least recently used entries, never the one just added, until within budget
+    private void evictOverBudget(Key newest) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (bytesHeld > budgetBytes && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.key.equals(newest)) {
+                continue;
+            }
+            iterator.remove();
+            entry.clear();
+            bytesHeld -= entry.bytes;
+            evictions++;
+        }
+    }
+
+    // Forgets entries whose images the garbage collector has reclaimed
+    private void purgeCleared() {
+        Reference<? extends BufferedImage> reference;
+        while ((reference = cleared.poll()) != null) {
+            Entry entry = (Entry) reference;
+            if (entries.get(entry.key) == entry) {
+                entries.remove(entry.key);
+                bytesHeld -= entry.bytes;
+                evictions++;
+            }
+        }
+    }
+
+    private record Key(String resourcePath, int subsampling) {
+    }
+
+    private static final class Entry extends SoftReference<BufferedImage> {
+        final Key key;
+        final long bytes;
+
+        Entry(Key key, BufferedImage image, long bytes, ReferenceQueue<BufferedImage> queue) {
+            super(image, queue);
+            this.key = key;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package game.util;
+
+import java.util.concurrent.locks.LockSupport;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.Control;
+import javax.sound.sampled.Line;
+import javax.sound.sampled.LineListener;
+import javax.sound.sampled.SourceDataLine;
+
+/**
+ * Output line that plays to nowhere, for driving the {@link AudioMixer} without a sound device.
+ * While running it drains in real time at its format's frame rate, so writes
+ * block as they would on a device, and it notes what a listener would have
+ * heard go wrong: each time it ran dry and played silence, and samples at full
+ * scale, which clip. Only 16-bit signed little-endian audio is checked for
+ * clipping. No line events are sent.
+ */
+final class NullSourceDataLine implements SourceDataLine {
+    private static final Line.Info INFO = new Line.Info(SourceDataLine.class);
+    private static final long IDLE_WAIT_NANOS = 1_000_000L;
+
+    private AudioFormat format = AudioMixer.FORMAT;
+    private int bufferSize;
+    private boolean checkSamples;
+    private boolean open;
+    private boolean running;
+    private boolean starved;
+    private long writtenFrames;
+    private double playedFrames; // Advanced by the clock while running, never past writtenFrames
+    private long lastAdvanceNanos;
+    private long underruns;
+    private long silentFrames;
+    private long clippedSamples;
+    private int peak;
+
+    @Override
+    public synchronized void open(AudioFormat format, int bufferSize) {
+        if (open) {
+            return;
+        }
+        this.format = format;
+        this.bufferSize = bufferSize - bufferSize % format.getFrameSize();
+        checkSamples = format.getEncoding() == AudioFormat.Encoding.PCM_SIGNED
+            && format.getSampleSizeInBits() == 16 && !format.isBigEndian();
+        open = true;
+    }
+
+    /**
+     * Opens with half a second of buffer.
+     */
+    @Override
+    public void open(AudioFormat format) {
+        open(format, (int) (format.getFrameRate() / 2) * format.getFrameSize());
+    }
+
+    @Override
+    public void open() {
+        open(format);
+    }
+
+    @Override
+    public synchronized void close() {
+        open = false;
+        running = false;
+    }
+
+    @Override
+    public synchronized boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!running) {
+            running = true;
+            lastAdvanceNanos = System.nanoTime();
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        advance();
+        running = false;
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public synchronized boolean isActive() {
+        advance();
+        return running && queuedFrames() > 0;
+    }
+
+    /**
+     * Blocks until every byte fits in the buffer, as a device's line does.
+     */
+    @Override
+    public int write(byte[] b, int off, int len) {
+        int frameSize = format.getFrameSize();
+        if (len % frameSize != 0) {
+            throw new IllegalArgumentException("Not a whole number of frames: " + len + " bytes");
+        }
+        int done = 0;
+        while (done < len) {
+            long waitNanos;
+            synchronized (this) {
+                if (!open) {
+                    return done;
+                }
+                advance();
+                int bytes = Math.min(len - done, bufferSize - (int) queuedFrames() * frameSize);
+                if (bytes > 0) {
+                    if (checkSamples) {
+                        checkSamples(b, off + done, bytes);
+                    }
+                    writtenFrames += bytes / frameSize;
+                    starved = false;
+                    done += bytes;
+                    continue;
+                }
+                long framesNeeded = (len - done) / frameSize;
+                waitNanos = running ? (long) (framesNeeded * 1e9 / format.getFrameRate()) : IDLE_WAIT_NANOS;
+            }
+            LockSupport.parkNanos(waitNanos);
+        }
+        return done;
+    }
+
+    @Override
+    public synchronized void drain() {
+        while (open && running && queuedFrames() > 0) {
+            long waitNanos = (long) (queuedFrames() * 1e9 / format.getFrameRate());
+            try {
+                wait(Math.max(1, waitNanos / 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            advance();
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        advance();
+        writtenFrames = (long) playedFrames;
+        playedFrames = writtenFrames;
+    }
+
+    @Override
+    public synchronized int available() {
+        advance();
+        return bufferSize - (int) queuedFrames() * format.getFrameSize();
+    }
+
+    @Override
+    public synchronized AudioFormat getFormat() {
+        return format;
+    }
+
+    @Override
+    public synchronized int getBufferSize() {
+        return bufferSize;
+    }
+
+    @Override
+    public int getFramePosition() {
+        return (int) getLongFramePosition();
+    }
+
+    @Override
+    public synchronized long getLongFramePosition() {
+        advance();
+        return (long) playedFrames;
+    }
+
+    @Override
+    public long getMicrosecondPosition() {
+        return (long) (getLongFramePosition() * 1e6 / format.getFrameRate());
+    }
+
+    @Override
+    public float getLevel() {
+        return -1; // Not supported, as on most devices
+    }
+
+    @Override
+    public Line.Info getLineInfo() {
+        return INFO;
+    }
+
+    @Override
+    public Control[] getControls() {
+        return new Control[0];
+    }
+
+    @Override
+    public boolean isControlSupported(Control.Type control) {
+        return false;
+    }
+
+    @Override
+    public Control getControl(Control.Type control) {
+        throw new IllegalArgumentException("Unsupported control type: " + control);
+    }
+
+    @Override
+    public void addLineListener(LineListener listener) {
+    }
+
+    @Override
+    public void removeLineListener(LineListener listener) {
+    }
+
+    /**
+     * @return Times the line ran dry after having been written to
+     */
+    synchronized long getUnderruns() {
+        return underruns;
+    }
+
+    /**
+     * @return Frames of silence played because nothing had been written in time
+     */
+    synchronized long getSilentFrames() {
+        advance();
+        return silentFrames;
+    }
+
+    synchronized long getClippedSamples() {
+        return clippedSamples;
+    }
+
+    /**
+     * @return Largest sample magnitude written, as a fraction of full scale
+     */
+    synchronized double getPeakLevel() {
+        return peak / (double) Short.MAX_VALUE;
+    }
+
+    private long queuedFrames() {
+        return writtenFrames - (long) playedFrames;
+    }
+
+    // Plays whatever the clock says has been played since the last call
+    private void advance() {
+        long now = System.nanoTime();
+        if (running) {
+            playedFrames += (now - lastAdvanceNanos) * (double) format.getFrameRate() / 1e9;
+            if (playedFrames > writtenFrames) {
+                if (writtenFrames > 0) {
+                    if (!starved) {
+                        underruns++;
+                        starved = true;
+                    }
+                    silentFrames += (long) (playedFrames - writtenFrames);
+                }
+                playedFrames = writtenFrames;
+            }
+        }
+        lastAdvanceNanos = now;
+    }
+
+    private void checkSamples(byte[] b, int off, int len) {
+        for (int i = off; i < off + len; i += 2) {
+            int sample = (short) ((b[i] & 0xff) | (b[i + 1] << 8));
+            if (sample == Short.MAX_VALUE || sample == Short.MIN_VALUE) {
+                clippedSamples++;
+            }
+            peak = Math.max(peak, Math.min(Short.MAX_VALUE, Math.abs(sample)));
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package game.util;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+/**
+ * Shared cache of short sounds decoded to PCM in the mixer's {@link AudioMixer#FORMAT}.
+ * Each resource is decoded once per process, whichever {@link SoundManager}
+ * asks first, and converted at load time: encodings and sample sizes through
+ * Java Sound, channel counts by duplicating or dropping channels, and sample
+ * rates by linear interpolation with a {@link Resampler}. Playing a cached sound is then only a copy
+ * into the mix. Long tracks should be streamed with a {@link PcmStream} instead.
+ *
+ * Thread-safe; concurrent requests for the same sound wait for one decode.
+ */
+public final class PcmCache {
+    private static final PcmCache DEFAULT = new PcmCache();
+    private static final int OUTPUT_CHANNELS = AudioMixer.FORMAT.getChannels();
+
+    private final Map<String, short[]> sounds = new ConcurrentHashMap<>();
+
+    public static PcmCache getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * @return The sound's interleaved samples, which callers must not modify
+     * @throws IllegalArgumentException if the resource is missing
+     * @throws IllegalStateException if it cannot be read or decoded
+     */
+    public short[] get(String resourcePath) {
+        return sounds.computeIfAbsent(resourcePath, PcmCache::decode);
+    }
+
+    /**
+     * @return Bytes of decoded samples held
+     */
+    public long getMemoryBytes() {
+        long bytes = 0;
+        for (short[] samples : sounds.values()) {
+            bytes += (long) samples.length * Short.BYTES;
+        }
+        return bytes;
+    }
+
+    private static short[] decode(String resourcePath) {
+        URL url = PcmCache.class.getResource(resourcePath);
+        if (url == null) {
+            throw new IllegalArgumentException("Could not find sound: " + resourcePath);
+        }
+        long start = System.nanoTime();
+        try (AudioInputStream pcm = openPcm(url)) {
+            AudioFormat format = pcm.getFormat();
+            byte[] bytes = pcm.readAllBytes();
+            short[] samples = new short[bytes.length / Short.BYTES];
+            toSamples(bytes, samples.length, samples);
+            short[] stereo = new short[samples.length / format.getChannels() * OUTPUT_CHANNELS];
+            toStereo(samples, samples.length, format.getChannels(), stereo);
+            short[] resampled = resample(stereo, format.getSampleRate());
+            AudioMetrics.getInstance().recordDecode(start);
+            return resampled;
+        } catch (IOException | UnsupportedAudioFileException e) {
+            throw new IllegalStateException("Could not decode sound " + resourcePath + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Opens a sound as signed 16-bit little-endian PCM, keeping its own sample rate and channel count.
+     *
+     * @throws UnsupportedAudioFileException if Java Sound cannot decode it to PCM
+     */
+    static AudioInputStream openPcm(URL url) throws IOException, UnsupportedAudioFileException {
+        AudioInputStream source = AudioSystem.getAudioInputStream(url);
+        AudioFormat format = source.getFormat();
+        AudioFormat pcm = new AudioFormat(format.getSampleRate(), 16, format.getChannels(), true, false);
+        if (format.matches(pcm)) {
+            return source;
+        }
+        if (!AudioSystem.isConversionSupported(pcm, format)) {
+            source.close();
+            throw new UnsupportedAudioFileException("Cannot convert " + format + " to PCM");
+        }
+        return AudioSystem.getAudioInputStream(pcm, source);
+    }
+
+    /**
+     * Reads {@code count} little-endian 16-bit samples from {@code bytes}.
+     */
+    static void toSamples(byte[] bytes, int count, short[] target) {
+        for (int i = 0, b = 0; i < count; i++, b += 2) {
+            target[i] = (short) ((bytes[b] & 0xff) | (bytes[b + 1] << 8));
+        }
+    }
+
+    /**
+     * Maps interleaved samples with any number of channels to stereo: mono is
+     * duplicated and channels beyond the second are dropped.
+     *
+     * @return Samples written to {@code target}
+     */
+    static int toStereo(short[] samples, int length, int channels, short[] target) {
+        int frames = length / channels;
+        if (channels == OUTPUT_CHANNELS) {
+            System.arraycopy(samples, 0, target, 0, frames * channels);
+        } else {
+            for (int frame = 0; frame < frames; frame++) {
+                int from = frame * channels;
+                target[frame * 2] = samples[from];
+                target[frame * 2 + 1] = samples[channels == 1 ? from : from + 1];
+            }
+        }
+        return frames * OUTPUT_CHANNELS;
+    }
+
+    private static short[] resample(short[] stereo, float sampleRate) {
+        if (sampleRate == AudioMixer.FORMAT.getSampleRate()) {
+            return stereo;
+        }
+        Resampler resampler = new Resampler(sampleRate);
+        int frames = stereo.length / OUTPUT_CHANNELS;
+        short[] output = new short[resampler.maxOutput(frames)];
+        return Arrays.copyOf(output, resampler.process(stereo, frames, output));
+    }
+
+    /**
+     * Converts interleaved stereo to the output sample rate by linear interpolation,
+     * which is plenty for game sounds and cheap enough to run while streaming.
+     * The position between frames and the last frame are carried from one
+     * block to the next, so a stream converted a block at a time has no seams.
+     */
+    static final class Resampler {
+        private final double step; // Source frames per output frame
+        private double position = 1; // In source frames, where 0 is the previous block's last frame
+        private final short[] previous = new short[OUTPUT_CHANNELS];
+
+        Resampler(float sampleRate) {
+            step = sampleRate / AudioMixer.FORMAT.getSampleRate();
+        }
+
+        /**
+         * @return The most samples {@link #process} can write for a block of {@code frames}
+         */
+        int maxOutput(int frames) {
+            return ((int) Math.ceil(frames / step) + 1) * OUTPUT_CHANNELS;
+        }
+
+        /**
+         * @return Samples written to {@code target}
+         */
+        int process(short[] stereo, int frames, short[] target) {
+            int count = 0;
+            while (position < frames) {
+                int index = (int) position;
+                double fraction = position - index;
+                for (int channel = 0; channel < OUTPUT_CHANNELS; channel++) {
+                    int from = index == 0 ? previous[channel] : stereo[(index - 1) * OUTPUT_CHANNELS + channel];
+                    int to = stereo[index * OUTPUT_CHANNELS + channel];
+                    target[count++] = (short) Math.round(from + (to - from) * fraction);
+                }
+                position += step;
+            }
+            if (frames > 0) {
+                position -= frames;
+                System.arraycopy(stereo, (frames - 1) * OUTPUT_CHANNELS, previous, 0, OUTPUT_CHANNELS);
+            }
+            return count;
+        }
+    }
+}
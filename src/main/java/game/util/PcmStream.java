@@ -0,0 +1,141 @@
+package game.util;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.concurrent.locks.LockSupport;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+/**
+ * A long sound played straight from its resource rather than decoded into memory.
+ * A reader thread decodes the track {@code Constants.AUDIO_READ_AHEAD_FRAMES}
+ * ahead of playback into a ring buffer, reopening the resource at the end when
+ * looping. The mixer's audio thread only copies out of the ring, so it never
+ * waits on I/O; if the reader falls behind, the gap plays as silence and is
+ * counted as a stream underrun in {@link AudioMetrics}.
+ *
+ * The reader converts the track to the output format as it goes, resampling
+ * with a {@link PcmCache.Resampler} carried across reads and loops, so any
+ * rate plays. Opening starts the read-ahead, so a stream opened while
+ * loading plays from a full buffer.
+ */
+public final class PcmStream implements AudioMixer.Stream, AutoCloseable {
+    private static final int READ_FRAMES = 4096;
+    private static final long FULL_WAIT_NANOS = 10_000_000L;
+
+    private final URL url;
+    private final boolean loop;
+    private final short[] ring;
+    private final int mask;
+    private final Thread reader;
+    private AudioInputStream input; // Only touched by the reader once started
+    private volatile long written;
+    private volatile long consumed;
+    private volatile boolean ended;
+    private volatile boolean closed;
+
+    private PcmStream(URL url, boolean loop) throws IOException, UnsupportedAudioFileException {
+        this.url = url;
+        this.loop = loop;
+        this.input = openInput(url);
+        this.ring = new short[Constants.AUDIO_READ_AHEAD_FRAMES * AudioMixer.FORMAT.getChannels()];
+        this.mask = ring.length - 1;
+        this.reader = new Thread(this::readAhead, "audio-stream");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * Opens a sound resource for streaming and starts reading ahead.
+     *
+     * @throws IllegalArgumentException if the resource is missing
+     * @throws UnsupportedAudioFileException if it cannot be decoded
+     */
+    public static PcmStream open(String resourcePath, boolean loop) throws IOException, UnsupportedAudioFileException {
+        URL url = PcmStream.class.getResource(resourcePath);
+        if (url == null) {
+            throw new IllegalArgumentException("Could not find sound: " + resourcePath);
+        }
+        return new PcmStream(url, loop);
+    }
+
+    private static AudioInputStream openInput(URL url) throws IOException, UnsupportedAudioFileException {
+        return PcmCache.openPcm(url);
+    }
+
+    /**
+     * Called on the audio thread. Never blocks.
+     */
+    @Override
+    public int read(short[] target, int offset, int length) {
+        // Read the end flag first: once it is set, everything written is already visible
+        boolean finished = ended;
+        long start = consumed;
+        int count = (int) Math.min(length, written - start);
+        for (int i = 0; i < count; i++) {
+            target[offset + i] = ring[(int) ((start + i) & mask)];
+        }
+        consumed = start + count;
+        if (count < length && !finished) {
+            AudioMetrics.getInstance().streamUnderrun();
+        }
+        return count == 0 && finished ? -1 : count;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(reader);
+    }
+
+    private void readAhead() {
+        int channels = input.getFormat().getChannels();
+        byte[] bytes = new byte[READ_FRAMES * channels * Short.BYTES];
+        short[] samples = new short[READ_FRAMES * channels];
+        short[] stereo = new short[READ_FRAMES * AudioMixer.FORMAT.getChannels()];
+        float sampleRate = input.getFormat().getSampleRate();
+        PcmCache.Resampler resampler = sampleRate == AudioMixer.FORMAT.getSampleRate()
+            ? null : new PcmCache.Resampler(sampleRate);
+        short[] output = resampler == null ? stereo : new short[resampler.maxOutput(READ_FRAMES)];
+        boolean readSinceOpen = false;
+        try {
+            while (!closed) {
+                if (ring.length - (written - consumed) < output.length) {
+                    LockSupport.parkNanos(FULL_WAIT_NANOS);
+                    continue;
+                }
+                int read = input.read(bytes);
+                if (read < 0) {
+                    input.close();
+                    if (!loop || !readSinceOpen) {
+                        break;
+                    }
+                    input = openInput(url);
+                    readSinceOpen = false;
+                    continue;
+                }
+                readSinceOpen |= read > 0;
+                int count = read / Short.BYTES;
+                PcmCache.toSamples(bytes, count, samples);
+                count = PcmCache.toStereo(samples, count, channels, stereo);
+                if (resampler != null) {
+                    count = resampler.process(stereo, count / AudioMixer.FORMAT.getChannels(), output);
+                }
+                long start = written;
+                for (int i = 0; i < count; i++) {
+                    ring[(int) ((start + i) & mask)] = output[i];
+                }
+                written = start + count;
+            }
+        } catch (IOException | UnsupportedAudioFileException e) {
+            System.err.println("Error streaming sound " + url + ": " + e.getMessage());
+        } finally {
+            ended = true;
+            try {
+                input.close();
+            } catch (IOException e) {
+                // Nothing more to read either way
+            }
+        }
+    }
+}
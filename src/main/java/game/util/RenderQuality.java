@@ -0,0 +1,59 @@
+package game.util;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+
+/**
+ * How much effort painting may spend, from the cheapest level to the best looking.
+ * The UI's render governor picks the level from measured paint times; painters
+ * ask it for their rendering hints and for which effects to draw.
+ */
+public enum RenderQuality {
+    /** No antialiasing, nearest-neighbour scaling, no glow and a flat background. */
+    LOW(0),
+    /** Antialiased, but with speed-biased hints and a single glow ring. */
+    MEDIUM(1),
+    /** Quality hints, bilinear scaling and the full glow. */
+    HIGH(3);
+
+    private final int glowLayers;
+
+    RenderQuality(int glowLayers) {
+        this.glowLayers = glowLayers;
+    }
+
+    public void applyHints(Graphics2D g) {
+        boolean antialias = this != LOW;
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                           antialias ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+                           antialias ? RenderingHints.VALUE_TEXT_ANTIALIAS_ON : RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING,
+                           this == HIGH ? RenderingHints.VALUE_RENDER_QUALITY : RenderingHints.VALUE_RENDER_SPEED);
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                           antialias ? RenderingHints.VALUE_INTERPOLATION_BILINEAR
+                                     : RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+    }
+
+    /**
+     * @return Rings in a button's hover glow; 0 means no glow and no fade animation
+     */
+    public int getGlowLayers() {
+        return glowLayers;
+    }
+
+    /**
+     * @return false if the background image and its overlay should give way to a flat fill
+     */
+    public boolean showsBackgroundImage() {
+        return this != LOW;
+    }
+
+    public RenderQuality lower() {
+        return this == LOW ? LOW : values()[ordinal() - 1];
+    }
+
+    public RenderQuality higher() {
+        return this == HIGH ? HIGH : values()[ordinal() + 1];
+    }
+}
@@ -2,96 +2,154 @@ package game.util;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import javax.sound.sampled.*;
 
+/**
+ * Plays the game's sound effects and background music through an {@link AudioMixer}.
+ * Effects are decoded once into the shared {@link PcmCache}; playing one only
+ * hands it to a voice. The music is streamed from its resource instead of
+ * being held in memory.
+ */
 public class SoundManager {
-    private final Map<String, Clip> soundClips;
-    private Clip backgroundMusic;
+    // Sound effect names used by playSound, and where they are loaded from
+    private static final Map<String, String> SOUND_EFFECTS = Map.of(
+        "click", Constants.Assets.CLICK_SOUND,
+        "win", Constants.Assets.WIN_SOUND,
+        "lose", Constants.Assets.LOSE_SOUND
+    );
+
+    private static final float MUSIC_GAIN = 0.5f; // Background music slightly quieter
+
+    private final Map<String, short[]> soundEffects;
+    private final AudioMixer mixer; // Null when there is no audio output
+    private PcmStream backgroundMusic; // Opened ahead of playing, so it starts from a full read-ahead
+    private boolean musicAvailable;
+    private long musicVoice;
     private float volume = 1.0f;
     private boolean isMuted = false;
 
+    /**
+     * Loads every sound one after another on the calling thread.
+     */
     public SoundManager() {
-        soundClips = new HashMap<>();
-        loadSounds();
+        soundEffects = new HashMap<>();
+        SOUND_EFFECTS.forEach((name, path) -> {
+            short[] samples = decode(path);
+            if (samples != null) {
+                soundEffects.put(name, samples);
+            }
+        });
+        backgroundMusic = openMusic();
+        musicAvailable = backgroundMusic != null;
+        mixer = openMixer();
+    }
+
+    private SoundManager(Map<String, short[]> soundEffects, PcmStream backgroundMusic, AudioMixer mixer) {
+        this.soundEffects = soundEffects;
+        this.backgroundMusic = backgroundMusic;
+        this.musicAvailable = backgroundMusic != null;
+        this.mixer = mixer;
     }
 
-    private void loadSounds() {
+    /**
+     * Decodes every effect, opens the music and opens the audio line as separate
+     * tasks on {@code loader}, so they load in parallel with each other and with the rest of the assets.
+     *
+     * @return A future that completes once all sounds have been tried; sounds that fail to load stay silent
+     */
+    public static CompletableFuture<SoundManager> loadAsync(AssetLoader loader) {
+        Map<String, CompletableFuture<short[]>> effects = new HashMap<>();
+        SOUND_EFFECTS.forEach((name, path) -> effects.put(name, loader.submit(path, () -> decode(path))));
+        CompletableFuture<PcmStream> music = loader.submit(Constants.Assets.BACKGROUND_MUSIC, SoundManager::openMusic);
+        CompletableFuture<AudioMixer> mixer = loader.submit("audio line", SoundManager::openMixer);
+
+        CompletableFuture<?>[] all = effects.values().toArray(new CompletableFuture<?>[0]);
+        return CompletableFuture.allOf(all).thenCombine(music, (ignored, musicStream) -> {
+            Map<String, short[]> samples = new HashMap<>();
+            effects.forEach((name, effect) -> {
+                if (effect.join() != null) {
+                    samples.put(name, effect.join());
+                }
+            });
+            System.out.printf("Decoded sound effects: %d KB%n", PcmCache.getDefault().getMemoryBytes() / 1024);
+            return new SoundManager(samples, musicStream, mixer.join());
+        });
+    }
+
+    /**
+     * @return The effect's samples from the shared cache, or null if it could not be loaded
+     */
+    static short[] decode(String path) {
         try {
-            // Load sound effects
-            loadSound("click", "/assets/click.wav");
-            loadSound("win", "/assets/win.wav");
-            loadSound("lose", "/assets/lose.wav");
-            
-            // Load background music
-            loadBackgroundMusic("/assets/background.wav");
-        } catch (Exception e) {
-            System.err.println("Error loading sounds: " + e.getMessage());
+            return PcmCache.getDefault().get(path);
+        } catch (RuntimeException e) {
+            System.err.println("Error loading sound " + path + ": " + e.getMessage());
+            return null;
         }
     }
 
-    private void loadSound(String name, String path) {
+    /**
+     * @return The looping music stream, or null if it could not be opened
+     */
+    static PcmStream openMusic() {
         try {
-            AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(
-                getClass().getResource(path));
-            Clip clip = AudioSystem.getClip();
-            clip.open(audioInputStream);
-            soundClips.put(name, clip);
+            return PcmStream.open(Constants.Assets.BACKGROUND_MUSIC, true);
         } catch (Exception e) {
-            System.err.println("Error loading sound " + name + ": " + e.getMessage());
+            System.err.println("Error loading sound " + Constants.Assets.BACKGROUND_MUSIC + ": " + e.getMessage());
+            return null;
         }
     }
 
-    private void loadBackgroundMusic(String path) {
+    /**
+     * @return A mixer on the default output line, or null if there is none
+     */
+    static AudioMixer openMixer() {
         try {
-            AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(
-                getClass().getResource(path));
-            backgroundMusic = AudioSystem.getClip();
-            backgroundMusic.open(audioInputStream);
-        } catch (Exception e) {
-            System.err.println("Error loading background music: " + e.getMessage());
+            return AudioMixer.open();
+        } catch (LineUnavailableException e) {
+            System.err.println("No audio output, sounds are off: " + e.getMessage());
+            return null;
         }
     }
 
     public void playSound(String name) {
-        if (isMuted || !soundClips.containsKey(name)) return;
-        
-        Clip clip = soundClips.get(name);
-        if (clip.isRunning()) {
-            clip.stop();
-        }
-        clip.setFramePosition(0);
-        setVolume(clip, volume);
-        clip.start();
+        short[] samples = soundEffects.get(name);
+        if (isMuted || mixer == null || samples == null) return;
+
+        // Each play gets its own voice, so quick repeats overlap instead of cutting each other off
+        mixer.play(samples, 1.0f, false);
     }
 
     public void playBackgroundMusic() {
-        if (backgroundMusic == null || isMuted) return;
-        
-        setVolume(backgroundMusic, volume * 0.5f); // Background music slightly quieter
-        backgroundMusic.loop(Clip.LOOP_CONTINUOUSLY);
+        if (!musicAvailable || mixer == null || isMuted || mixer.isPlaying(musicVoice)) return;
+
+        if (backgroundMusic == null) {
+            backgroundMusic = openMusic();
+            if (backgroundMusic == null) return;
+        }
+        musicVoice = mixer.play(backgroundMusic, MUSIC_GAIN);
     }
 
     public void stopBackgroundMusic() {
-        if (backgroundMusic != null && backgroundMusic.isRunning()) {
-            backgroundMusic.stop();
+        if (mixer != null) {
+            mixer.stop(musicVoice);
+        }
+        // Streams only play once through, so the next play starts the track afresh
+        if (backgroundMusic != null && musicVoice != 0) {
+            backgroundMusic.close();
+            backgroundMusic = null;
+            musicVoice = 0;
         }
     }
 
     public void setVolume(float value) {
         volume = Math.max(0.0f, Math.min(1.0f, value));
-        setVolume(backgroundMusic, volume * 0.5f);
-        for (Clip clip : soundClips.values()) {
-            setVolume(clip, volume);
+        if (mixer != null) {
+            mixer.setMasterGain(volume);
         }
     }
 
-    private void setVolume(Clip clip, float volume) {
-        if (clip == null) return;
-        FloatControl gainControl = (FloatControl) clip.getControl(FloatControl.Type.MASTER_GAIN);
-        float dB = (float) (Math.log(Math.max(0.0001f, volume)) / Math.log(10.0) * 20.0);
-        gainControl.setValue(dB);
-    }
-
     public void toggleMute() {
         isMuted = !isMuted;
         if (isMuted) {
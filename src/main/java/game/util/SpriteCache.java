@@ -0,0 +1,106 @@
+package game.util;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BaseMultiResolutionImage;
+import java.awt.image.BufferedImage;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared cache of pre-scaled sprites, keyed by resource and logical size.
+ * Every sprite is a {@link BaseMultiResolutionImage} with one variant per
+ * display scale factor in use, so Java2D picks sharp pixels on HiDPI screens
+ * instead of stretching a 1x image. Variants are compatible images scaled down
+ * in bilinear steps of at most half, which keeps the quality of an area-average
+ * scale without the cost of {@code Image.getScaledInstance}, and are built once
+ * rather than lazily on first paint.
+ *
+ * Thread-safe, so sprites can be built by the startup {@link AssetLoader}.
+ */
+public final class SpriteCache {
+    private static final SpriteCache DEFAULT = new SpriteCache();
+
+    private final Map<String, Image> sprites = new ConcurrentHashMap<>();
+    private final double[] displayScales;
+    private final GraphicsConfiguration configuration;
+
+    public SpriteCache() {
+        TreeSet<Double> scales = new TreeSet<>();
+        scales.add(1.0);
+        GraphicsConfiguration defaultConfiguration = null;
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsEnvironment environment = GraphicsEnvironment.getLocalGraphicsEnvironment();
+            for (GraphicsDevice device : environment.getScreenDevices()) {
+                scales.add(device.getDefaultConfiguration().getDefaultTransform().getScaleX());
+            }
+            defaultConfiguration = environment.getDefaultScreenDevice().getDefaultConfiguration();
+        }
+        this.displayScales = scales.stream().mapToDouble(Double::doubleValue).toArray();
+        this.configuration = defaultConfiguration;
+    }
+
+    public static SpriteCache getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns an image resource scaled to fit a {@code logicalSize} square,
+     * keeping its aspect ratio, with a variant for every display scale.
+     *
+     * @throws IllegalArgumentException if the resource is missing or not an image
+     */
+    public Image get(String resourcePath, int logicalSize) {
+        return sprites.computeIfAbsent(resourcePath + "@" + logicalSize, key -> build(resourcePath, logicalSize));
+    }
+
+    private Image build(String resourcePath, int logicalSize) {
+        Image[] variants = new Image[displayScales.length];
+        for (int i = 0; i < displayScales.length; i++) {
+            int box = (int) Math.ceil(logicalSize * displayScales[i]);
+            BufferedImage source = ImageCache.getDefault().get(resourcePath, box, box);
+            double scale = Math.min((double) box / source.getWidth(), (double) box / source.getHeight());
+            int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+            int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+            variants[i] = scaleInSteps(source, width, height);
+        }
+        // Variants are in ascending scale order, so the 1x image is the base
+        return new BaseMultiResolutionImage(0, variants);
+    }
+
+    /**
+     * Scales {@code source} to the target size, halving at most once per bilinear pass.
+     * Always makes at least one pass, so the result is a compatible image even
+     * when the source already has the target size.
+     */
+    private BufferedImage scaleInSteps(BufferedImage source, int targetWidth, int targetHeight) {
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage next = createCompatible(width, height);
+            Graphics2D g2d = next.createGraphics();
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2d.drawImage(current, 0, 0, width, height, null);
+            g2d.dispose();
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private BufferedImage createCompatible(int width, int height) {
+        if (configuration != null) {
+            return configuration.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        }
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+}